@@ -0,0 +1,14 @@
+package quarkus.social.benchmark;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+public class BenchmarkProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.hibernate-orm.log.sql", "false",
+                "quarkus.log.category.\"org.hibernate\".level", "WARN");
+    }
+}
@@ -0,0 +1,35 @@
+package quarkus.social.benchmark;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every JMH benchmark of this package inside the running Quarkus test application, so the
+ * benchmarks reach the real CDI beans. Forking is disabled because a forked JVM would not have
+ * the application booted.
+ */
+@QuarkusTest
+@TestProfile(BenchmarkProfile.class)
+class BenchmarkRunner {
+    @Test
+    void runBenchmarks() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackageName() + "." + System.getProperty("benchmark.include", ".*"))
+                .forks(0)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("benchmark.result", "target/jmh-result.json"))
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,34 @@
+package quarkus.social.benchmark;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import quarkus.social.domain.model.UserSummary;
+import quarkus.social.rest.pagination.Cursor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The database side of the follower endpoints: the keyset page of {@code GET /users/{userId}/followers}
+ * and the edge lookup {@code follows} falls back to before the follow graph is loaded.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FollowerRepositoryBenchmark {
+    private static final int PAGE_SIZE = Cursor.limit(null);
+
+    @Benchmark
+    public long countFollows(SeededDatabase db) {
+        return QuarkusTransaction.requiringNew()
+                .call(() -> db.followerRepository.countFollows(db.randomUserId(), db.randomUserId()));
+    }
+
+    @Benchmark
+    public List<UserSummary> findPageByUser(SeededDatabase db) {
+        return QuarkusTransaction.requiringNew()
+                .call(() -> db.followerRepository.findPageByUser(db.randomUserId(), null, PAGE_SIZE + 1));
+    }
+}
@@ -0,0 +1,55 @@
+package quarkus.social.benchmark;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import quarkus.social.domain.model.Post;
+import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.dto.PostsPageResponse;
+import quarkus.social.rest.pagination.Cursor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pieces of {@code GET /users/{userId}/posts}: the keyset page query, the entity to DTO
+ * mapping and the JSON-B serialization of a full page.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PostsBenchmark {
+    private static final int PAGE_SIZE = Cursor.limit(null);
+
+    private final Jsonb jsonb = JsonbBuilder.create();
+    private List<Post> page;
+
+    @Setup
+    public void setUp(SeededDatabase db) {
+        page = QuarkusTransaction.requiringNew()
+                .call(() -> db.postRepository.findPageByUser(db.randomUser(), null, null, PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<Post> listPostQuery(SeededDatabase db) {
+        return QuarkusTransaction.requiringNew()
+                .call(() -> db.postRepository.findPageByUser(db.randomUser(), null, null, PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<PostResponse> fromEntity() {
+        return page.stream().map(PostResponse::fromEntity).toList();
+    }
+
+    @Benchmark
+    public String serializePage() {
+        return jsonb.toJson(PostsPageResponse.fromPage(page, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,69 @@
+package quarkus.social.benchmark;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.PostRepository;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.domain.seed.SocialGraphGenerator;
+import quarkus.social.rest.dto.SeedRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Repositories of the running application plus a database seeded once per JVM by
+ * {@link SocialGraphGenerator} with {@code benchmark.users} users, {@code benchmark.follows-per-user}
+ * follows and {@code benchmark.posts-per-user} posts per user on average.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+    private static long[] seededUserIds;
+
+    public UserRepository userRepository;
+    public PostRepository postRepository;
+    public FollowerRepository followerRepository;
+    public long[] userIds;
+
+    @Setup
+    public void setUp() {
+        userRepository = Arc.container().instance(UserRepository.class).get();
+        postRepository = Arc.container().instance(PostRepository.class).get();
+        followerRepository = Arc.container().instance(FollowerRepository.class).get();
+        userIds = seed();
+    }
+
+    private synchronized long[] seed() {
+        if (seededUserIds != null) {
+            return seededUserIds;
+        }
+
+        SeedRequest request = new SeedRequest();
+        request.setUsers(Integer.getInteger("benchmark.users", 10_000));
+        request.setFollowsPerUser(Integer.getInteger("benchmark.follows-per-user", 20));
+        request.setPostsPerUser(Integer.getInteger("benchmark.posts-per-user", 10));
+        Arc.container().instance(SocialGraphGenerator.class).get().generate(request);
+
+        seededUserIds = QuarkusTransaction.requiringNew().call(() -> userRepository.getEntityManager()
+                .createQuery("select u.id from User u", Long.class)
+                .getResultStream()
+                .mapToLong(Long::longValue)
+                .toArray());
+
+        return seededUserIds;
+    }
+
+    public User randomUser() {
+        User user = new User();
+        user.setId(randomUserId());
+
+        return user;
+    }
+
+    public long randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+}
@@ -0,0 +1,80 @@
+package quarkus.social.benchmark;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import quarkus.social.rest.dto.FollowerResponse;
+import quarkus.social.rest.dto.FollowersPerUserResponse;
+import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.dto.PostsPageResponse;
+import quarkus.social.rest.json.DtoJsonWriter;
+import quarkus.social.rest.pagination.Cursor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full pages of {@code listPost} and {@code listFollowers} written by reflective JSON-B and by
+ * {@link DtoJsonWriter}. Compare {@code gc.alloc.rate.norm} (bytes allocated per operation, from
+ * the GC profiler) as well as the time per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private final Jsonb jsonb = JsonbBuilder.create();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private PostsPageResponse posts;
+    private FollowersPerUserResponse followers;
+
+    @Setup
+    public void setUp() {
+        int pageSize = Cursor.limit(null);
+        List<PostResponse> postList = new ArrayList<>();
+        List<FollowerResponse> followerList = new ArrayList<>();
+        for (long i = 0; i < pageSize; i++) {
+            postList.add(new PostResponse(570_000_000_000_000_000L + i, 42L, "Post number " + i + " with some text",
+                    Date.valueOf("2024-05-01")));
+            followerList.add(new FollowerResponse(570_000_000_000_000_000L + i, "Follower " + i));
+        }
+
+        posts = new PostsPageResponse();
+        posts.setContent(postList);
+        posts.setNextCursor(Cursor.encode(1_714_521_600_000L, 570_000_000_000_000_019L));
+
+        followers = new FollowersPerUserResponse();
+        followers.setContent(followerList);
+        followers.setFollowersCount(1_234L);
+        followers.setNextCursor(Cursor.encode(570_000_000_000_000_019L));
+    }
+
+    @Benchmark
+    public void postsJsonb() {
+        jsonb.toJson(posts, sink);
+    }
+
+    @Benchmark
+    public void postsLean() throws IOException {
+        DtoJsonWriter.write(posts, sink);
+    }
+
+    @Benchmark
+    public void followersJsonb() {
+        jsonb.toJson(followers, sink);
+    }
+
+    @Benchmark
+    public void followersLean() throws IOException {
+        DtoJsonWriter.write(followers, sink);
+    }
+}
@@ -0,0 +1,250 @@
+package quarkus.social.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop HTTP load driver for a running instance. Each of {@code --concurrency} workers picks
+ * an operation from {@code --mix}, sends it, waits for the answer and records its latency.
+ * User ids and a sample of follow edges are read from {@code /export} first, so requests hit
+ * existing rows and {@code listPost} is sent by a real follower.
+ * <pre>
+ * ./mvnw test-compile exec:java -Dbenchmark -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=quarkus.social.loadtest.LoadDriver \
+ *     -Dexec.args="--base-url=http://localhost:8080 --concurrency=64 --duration=60 --warmup=10 \
+ *                  --mix=listPost=50,listFollowers=30,followUser=10,savePost=10"
+ * </pre>
+ */
+public class LoadDriver {
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final Pattern USER_ID = Pattern.compile("\"userId\":(\\d+)");
+    private static final Pattern FOLLOWER_ID = Pattern.compile("\"followerId\":(\\d+)");
+
+    enum Operation { listPost, listFollowers, followUser, savePost }
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final Operation[] wheel;
+    private long[] userIds;
+    private long[][] edges;
+
+    LoadDriver(String baseUrl, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        this.wheel = slots.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : options.getOrDefault("mix", "listPost=50,listFollowers=30,followUser=10,savePost=10").split(",")) {
+            String[] pair = entry.split("=");
+            mix.put(Operation.valueOf(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+
+        LoadDriver driver = new LoadDriver(options.getOrDefault("base-url", "http://localhost:8080"), mix);
+        driver.load(Integer.parseInt(options.getOrDefault("sample-edges", "100000")));
+
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+
+        System.out.printf("warming up for %ds with %d workers%n", warmup, concurrency);
+        driver.run(concurrency, warmup);
+        System.out.printf("measuring for %ds%n", duration);
+        driver.run(concurrency, duration).print(duration);
+    }
+
+    void load(int sampleSize) throws IOException, InterruptedException {
+        try (Stream<String> lines = get("/export/users")) {
+            userIds = lines.map(ID::matcher)
+                    .filter(Matcher::find)
+                    .mapToLong(matcher -> Long.parseLong(matcher.group(1)))
+                    .toArray();
+        }
+
+        // reservoir sample, the edge table can be far larger than what fits in memory
+        long[][] sample = new long[sampleSize][];
+        Random random = new Random();
+        long seen = 0;
+        try (Stream<String> lines = get("/export/followers")) {
+            for (String line : (Iterable<String>) lines::iterator) {
+                Matcher user = USER_ID.matcher(line);
+                Matcher follower = FOLLOWER_ID.matcher(line);
+                if (!user.find() || !follower.find()) {
+                    continue;
+                }
+
+                long slot = seen < sampleSize ? seen : (long) (random.nextDouble() * (seen + 1));
+                if (slot < sampleSize) {
+                    sample[(int) slot] = new long[]{Long.parseLong(user.group(1)), Long.parseLong(follower.group(1))};
+                }
+                seen++;
+            }
+        }
+        edges = Arrays.copyOf(sample, (int) Math.min(seen, sampleSize));
+
+        if (userIds.length < 2) {
+            throw new IllegalStateException("Seed the instance first, e.g. POST /seed");
+        }
+        System.out.printf("loaded %d users and %d of %d follow edges%n", userIds.length, edges.length, seen);
+    }
+
+    private Stream<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofLines()).body();
+    }
+
+    Report run(int concurrency, int seconds) throws InterruptedException {
+        Report report = new Report();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                Report local = new Report();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request(operation), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    local.record(operation, System.nanoTime() - start, status);
+                }
+                report.merge(local);
+            });
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        return report;
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long user = userIds[random.nextInt(userIds.length)];
+
+        return switch (operation) {
+            case listPost -> {
+                long[] edge = edges.length == 0 ? new long[]{user, user} : edges[random.nextInt(edges.length)];
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + edge[0] + "/posts"))
+                        .header("followerId", Long.toString(edge[1]))
+                        .GET().build();
+            }
+            case listFollowers -> {
+                long followed = edges.length == 0 ? user : edges[random.nextInt(edges.length)][0];
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + followed + "/followers?limit=20"))
+                        .GET().build();
+            }
+            case followUser -> HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + user + "/followers"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            "{\"followerId\":" + userIds[random.nextInt(userIds.length)] + "}"))
+                    .build();
+            case savePost -> HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + user + "/posts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"text\":\"load test " + random.nextInt() + "\"}"))
+                    .build();
+        };
+    }
+
+    /**
+     * Raw latencies per operation; percentiles are exact, computed by sorting at the end.
+     */
+    static class Report {
+        private final Map<Operation, long[]> latencies = new LinkedHashMap<>();
+        private final Map<Operation, Integer> counts = new LinkedHashMap<>();
+        private final Map<Operation, Integer> errors = new LinkedHashMap<>();
+
+        void record(Operation operation, long nanos, int status) {
+            int count = counts.merge(operation, 1, Integer::sum);
+            long[] values = latencies.computeIfAbsent(operation, o -> new long[1024]);
+            if (count > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+                latencies.put(operation, values);
+            }
+            values[count - 1] = nanos;
+
+            if (status < 200 || status >= 300) {
+                errors.merge(operation, 1, Integer::sum);
+            }
+        }
+
+        synchronized void merge(Report other) {
+            other.counts.forEach((operation, count) -> {
+                long[] values = other.latencies.get(operation);
+                for (int i = 0; i < count; i++) {
+                    record(operation, values[i], 200);
+                }
+            });
+            other.errors.forEach((operation, count) -> errors.merge(operation, count, Integer::sum));
+        }
+
+        void print(int seconds) {
+            System.out.printf("%-14s %10s %10s %10s %10s %10s %8s%n",
+                    "operation", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+
+            long[] all = new long[0];
+            for (Map.Entry<Operation, Integer> entry : counts.entrySet()) {
+                long[] values = Arrays.copyOf(latencies.get(entry.getKey()), entry.getValue());
+                print(entry.getKey().name(), values, seconds, errors.getOrDefault(entry.getKey(), 0));
+
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + values.length);
+                System.arraycopy(values, 0, all, offset, values.length);
+            }
+            print("total", all, seconds, errors.values().stream().mapToInt(Integer::intValue).sum());
+        }
+
+        private static void print(String name, long[] values, int seconds, int errors) {
+            Arrays.sort(values);
+            System.out.printf("%-14s %10d %10.1f %10.2f %10.2f %10.2f %8d%n", name, values.length,
+                    values.length / (double) seconds,
+                    percentile(values, 0.50), percentile(values, 0.99), percentile(values, 0.999), errors);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+        }
+    }
+}
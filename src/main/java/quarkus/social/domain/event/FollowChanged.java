@@ -0,0 +1,15 @@
+package quarkus.social.domain.event;
+
+/**
+ * Fired inside the transaction that created or removed one or more edges
+ * "{@code followerIds[i]} follows {@code userIds[i]}".
+ */
+public record FollowChanged(long[] userIds, long[] followerIds, boolean following) {
+    public static FollowChanged single(Long userId, Long followerId, boolean following) {
+        return new FollowChanged(new long[]{userId}, new long[]{followerId}, following);
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+}
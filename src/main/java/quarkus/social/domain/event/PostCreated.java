@@ -0,0 +1,11 @@
+package quarkus.social.domain.event;
+
+import quarkus.social.domain.model.Post;
+
+/**
+ * Fired inside the transaction that persisted {@link Post}. Observers that write to the
+ * database should use a plain {@code @Observes}; in-memory views should observe
+ * {@code during = TransactionPhase.AFTER_SUCCESS} so a rollback never leaks into them.
+ */
+public record PostCreated(Post post) {
+}
@@ -0,0 +1,12 @@
+package quarkus.social.domain.event;
+
+import quarkus.social.domain.model.User;
+
+/**
+ * Fired inside the transaction that created, updated or deleted {@link User}.
+ */
+public record UserChanged(User user, Type type) {
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
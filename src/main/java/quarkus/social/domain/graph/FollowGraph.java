@@ -0,0 +1,259 @@
+package quarkus.social.domain.graph;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.event.FollowChanged;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process copy of the follow graph. Each user maps to {@link SortedIdSet}s of follower and
+ * followee ids, replaced copy-on-write so readers never lock; a change copies one block of the set,
+ * not the whole adjacency of a popular account. The graph is loaded once at startup and then kept
+ * current from committed {@link FollowChanged} events.
+ * <p>
+ * Those events are local to this process: a follow written by another instance never reaches the
+ * graph. It may therefore only be enabled with {@code social.single-instance=true}; deployments
+ * with several instances answer from the database instead.
+ */
+@ApplicationScoped
+public class FollowGraph {
+    private final ConcurrentMap<Long, SortedIdSet> followers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, SortedIdSet> following = new ConcurrentHashMap<>();
+    private final EntityManager entityManager;
+    private final boolean enabled;
+    private final boolean singleInstance;
+    private volatile boolean loaded;
+
+    @Inject
+    public FollowGraph(EntityManager entityManager,
+                       @ConfigProperty(name = "social.follow-graph.enabled", defaultValue = "false") boolean enabled,
+                       @ConfigProperty(name = "social.single-instance", defaultValue = "false") boolean singleInstance) {
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+        this.singleInstance = singleInstance;
+    }
+
+    @Transactional
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!singleInstance) {
+            throw new IllegalStateException("social.follow-graph.enabled needs social.single-instance=true: "
+                    + "the graph only sees the follows written by this instance");
+        }
+
+        long start = System.nanoTime();
+        load(followers, "select f.user.id, f.follower.id from Follower f order by f.user.id, f.follower.id");
+        load(following, "select f.follower.id, f.user.id from Follower f order by f.follower.id, f.user.id");
+        loaded = true;
+
+        Log.infof("Follow graph loaded: %d users with followers in %d ms",
+                followers.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) FollowChanged event) {
+        if (!enabled) {
+            return;
+        }
+
+        for (int i = 0; i < event.size(); i++) {
+            long userId = event.userIds()[i];
+            long followerId = event.followerIds()[i];
+
+            if (event.following()) {
+                followers.compute(userId, (id, ids) -> (ids == null ? SortedIdSet.EMPTY : ids).with(followerId));
+                following.compute(followerId, (id, ids) -> (ids == null ? SortedIdSet.EMPTY : ids).with(userId));
+            } else {
+                followers.computeIfPresent(userId, (id, ids) -> ids.without(followerId));
+                following.computeIfPresent(followerId, (id, ids) -> ids.without(userId));
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && loaded;
+    }
+
+    public boolean follows(long followerId, long userId) {
+        SortedIdSet ids = followers.get(userId);
+        return ids != null && ids.contains(followerId);
+    }
+
+    /**
+     * Sorted ids of the users {@code followerId} follows, as a new array.
+     */
+    public long[] followingOf(long followerId) {
+        return followingSet(followerId).toArray();
+    }
+
+    /**
+     * Sorted ids of the users following both {@code userId} and {@code otherId}.
+     */
+    public long[] commonFollowers(long userId, long otherId) {
+        return intersect(followers.getOrDefault(userId, SortedIdSet.EMPTY), followers.getOrDefault(otherId, SortedIdSet.EMPTY));
+    }
+
+    /**
+     * Friends-of-friends of {@code userId}: users followed by the people {@code userId} follows, that
+     * {@code userId} does not follow yet, ranked by how many of those people follow them (ties by
+     * lower id). At most {@code maxScan} second-degree edges are visited, so users following
+     * celebrities still get an answer in bounded time; friends who follow fewer people are scanned
+     * first, leaving the largest lists to be cut by the budget.
+     */
+    public List<Suggestion> suggestions(long userId, int limit, int maxScan) {
+        SortedIdSet followed = followingSet(userId);
+        long[] byDegree = followed.toArray();
+        sortByFollowingCount(byDegree);
+
+        LongIntCounter overlap = new LongIntCounter();
+        int scanned = 0;
+        for (long friend : byDegree) {
+            for (long[] block : followingSet(friend).blocks()) {
+                for (long candidate : block) {
+                    if (candidate != userId && !followed.contains(candidate)) {
+                        overlap.increment(candidate);
+                    }
+                    if (++scanned >= maxScan) {
+                        return overlap.top(limit);
+                    }
+                }
+            }
+        }
+
+        return overlap.top(limit);
+    }
+
+    /**
+     * Sorted ids present in both sorted arrays, for callers answering from the database.
+     */
+    public static long[] intersect(long[] a, long[] b) {
+        return intersect(SortedIdSet.of(a, a.length), SortedIdSet.of(b, b.length));
+    }
+
+    /**
+     * The ranking of {@link #suggestions} over second-degree edges read from the database:
+     * {@code followed} are the sorted ids {@code userId} follows, {@code candidates} the ids those
+     * users follow, one entry per edge.
+     */
+    public static List<Suggestion> rankSuggestions(long userId, long[] followed, long[] candidates, int limit) {
+        SortedIdSet followedSet = SortedIdSet.of(followed, followed.length);
+        LongIntCounter overlap = new LongIntCounter();
+        for (long candidate : candidates) {
+            if (candidate != userId && !followedSet.contains(candidate)) {
+                overlap.increment(candidate);
+            }
+        }
+
+        return overlap.top(limit);
+    }
+
+    private void sortByFollowingCount(long[] ids) {
+        long[][] keyed = new long[ids.length][];
+        for (int i = 0; i < ids.length; i++) {
+            keyed[i] = new long[]{followingSet(ids[i]).size(), ids[i]};
+        }
+        Arrays.sort(keyed, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = keyed[i][1];
+        }
+    }
+
+    private SortedIdSet followingSet(long followerId) {
+        return following.getOrDefault(followerId, SortedIdSet.EMPTY);
+    }
+
+    /**
+     * Intersection of two sets. When one side is much smaller each of its ids is looked up in the
+     * other's blocks with binary searches, otherwise both are merged linearly.
+     */
+    static long[] intersect(SortedIdSet a, SortedIdSet b) {
+        if (a.size() > b.size()) {
+            SortedIdSet swap = a;
+            a = b;
+            b = swap;
+        }
+
+        long[] result = new long[a.size()];
+        int size = 0;
+
+        if (a.size() * 32L < b.size()) {
+            for (long[] block : a.blocks()) {
+                for (long id : block) {
+                    if (b.contains(id)) {
+                        result[size++] = id;
+                    }
+                }
+            }
+        } else {
+            long[][] as = a.blocks();
+            long[][] bs = b.blocks();
+            int ab = 0;
+            int ai = 0;
+            int bb = 0;
+            int bi = 0;
+            while (ab < as.length && bb < bs.length) {
+                long x = as[ab][ai];
+                long y = bs[bb][bi];
+                if (x == y) {
+                    result[size++] = x;
+                }
+                if (x <= y && ++ai == as[ab].length) {
+                    ab++;
+                    ai = 0;
+                }
+                if (y <= x && ++bi == bs[bb].length) {
+                    bb++;
+                    bi = 0;
+                }
+            }
+        }
+
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private void load(ConcurrentMap<Long, SortedIdSet> target, String query) {
+        Iterator<Object[]> rows = entityManager
+                .createQuery(query, Object[].class)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .getResultStream()
+                .iterator();
+
+        long current = 0;
+        long[] buffer = new long[16];
+        int size = 0;
+
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            long key = (Long) row[0];
+            long value = (Long) row[1];
+
+            if (size > 0 && key != current) {
+                target.put(current, SortedIdSet.of(buffer, size));
+                size = 0;
+            }
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+            }
+
+            current = key;
+            buffer[size++] = value;
+        }
+
+        if (size > 0) {
+            target.put(current, SortedIdSet.of(buffer, size));
+        }
+    }
+}
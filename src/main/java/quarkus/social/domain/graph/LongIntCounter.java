@@ -0,0 +1,89 @@
+package quarkus.social.domain.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Open-addressing map from user id to count, without boxing, used to rank suggestions.
+ */
+final class LongIntCounter {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final Comparator<Suggestion> WORST_FIRST = Comparator
+            .comparingInt(Suggestion::overlap)
+            .thenComparing(Suggestion::userId, Comparator.reverseOrder());
+
+    private long[] keys = new long[64];
+    private int[] counts = new int[64];
+    private int size;
+
+    LongIntCounter() {
+        Arrays.fill(keys, EMPTY);
+    }
+
+    void increment(long key) {
+        if (size * 2 >= keys.length) {
+            grow();
+        }
+
+        int slot = slot(keys, key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * The {@code limit} keys with the highest counts, highest first, ties by lower key.
+     */
+    List<Suggestion> top(int limit) {
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(WORST_FIRST);
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == EMPTY) {
+                continue;
+            }
+            Suggestion candidate = new Suggestion(keys[i], counts[i]);
+            if (best.size() < limit) {
+                best.add(candidate);
+            } else if (limit > 0 && WORST_FIRST.compare(candidate, best.peek()) > 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+
+        List<Suggestion> result = new ArrayList<>(best);
+        result.sort(WORST_FIRST.reversed());
+
+        return result;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int slot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (key ^ key >>> 32) * 0x9E3779B9 & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+
+        return slot;
+    }
+}
@@ -0,0 +1,156 @@
+package quarkus.social.domain.graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sorted set of ids, stored as consecutive sorted blocks of at most {@value #MAX_BLOCK}
+ * ids. Adding or removing an id copies one block and the block index instead of the whole set, so
+ * a follow of an account with a million followers copies about 16 KB instead of 8 MB. A set that
+ * fits in one block is a single array, as before.
+ */
+final class SortedIdSet {
+    static final int MAX_BLOCK = 1024;
+    static final SortedIdSet EMPTY = new SortedIdSet(new long[0][], new long[0], 0);
+
+    private final long[][] blocks;
+    private final long[] firsts;
+    private final int size;
+
+    private SortedIdSet(long[][] blocks, long[] firsts, int size) {
+        this.blocks = blocks;
+        this.firsts = firsts;
+        this.size = size;
+    }
+
+    /**
+     * The first {@code length} ids of {@code ids}, which must be sorted and distinct.
+     */
+    static SortedIdSet of(long[] ids, int length) {
+        int count = (length + MAX_BLOCK - 1) / MAX_BLOCK;
+        long[][] blocks = new long[count][];
+        long[] firsts = new long[count];
+        for (int i = 0; i < count; i++) {
+            blocks[i] = Arrays.copyOfRange(ids, i * MAX_BLOCK, Math.min((i + 1) * MAX_BLOCK, length));
+            firsts[i] = blocks[i][0];
+        }
+
+        return new SortedIdSet(blocks, firsts, length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long id) {
+        int block = blockOf(id);
+        return block >= 0 && Arrays.binarySearch(blocks[block], id) >= 0;
+    }
+
+    /**
+     * The blocks in order, for iterating without a copy. They are shared and must not be modified.
+     */
+    long[][] blocks() {
+        return blocks;
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        int position = 0;
+        for (long[] block : blocks) {
+            System.arraycopy(block, 0, ids, position, block.length);
+            position += block.length;
+        }
+
+        return ids;
+    }
+
+    SortedIdSet with(long id) {
+        if (size == 0) {
+            return new SortedIdSet(new long[][]{{id}}, new long[]{id}, 1);
+        }
+
+        int b = Math.max(blockOf(id), 0);
+        long[] block = blocks[b];
+        int index = Arrays.binarySearch(block, id);
+        if (index >= 0) {
+            return this;
+        }
+
+        int position = -index - 1;
+        long[] grown = new long[block.length + 1];
+        System.arraycopy(block, 0, grown, 0, position);
+        grown[position] = id;
+        System.arraycopy(block, position, grown, position + 1, block.length - position);
+
+        if (grown.length <= MAX_BLOCK) {
+            return replace(b, grown, size + 1);
+        }
+
+        // split a full block in two halves
+        int half = grown.length / 2;
+        long[][] splitBlocks = new long[blocks.length + 1][];
+        long[] splitFirsts = new long[firsts.length + 1];
+        System.arraycopy(blocks, 0, splitBlocks, 0, b);
+        System.arraycopy(firsts, 0, splitFirsts, 0, b);
+        splitBlocks[b] = Arrays.copyOf(grown, half);
+        splitBlocks[b + 1] = Arrays.copyOfRange(grown, half, grown.length);
+        splitFirsts[b] = splitBlocks[b][0];
+        splitFirsts[b + 1] = splitBlocks[b + 1][0];
+        System.arraycopy(blocks, b + 1, splitBlocks, b + 2, blocks.length - b - 1);
+        System.arraycopy(firsts, b + 1, splitFirsts, b + 2, firsts.length - b - 1);
+
+        return new SortedIdSet(splitBlocks, splitFirsts, size + 1);
+    }
+
+    /**
+     * This set without {@code id}: the same set when absent, null when it becomes empty.
+     */
+    SortedIdSet without(long id) {
+        int b = blockOf(id);
+        if (b < 0) {
+            return this;
+        }
+        long[] block = blocks[b];
+        int index = Arrays.binarySearch(block, id);
+        if (index < 0) {
+            return this;
+        }
+        if (size == 1) {
+            return null;
+        }
+
+        if (block.length > 1) {
+            long[] shrunk = new long[block.length - 1];
+            System.arraycopy(block, 0, shrunk, 0, index);
+            System.arraycopy(block, index + 1, shrunk, index, block.length - index - 1);
+            return replace(b, shrunk, size - 1);
+        }
+
+        // drop the emptied block
+        long[][] fewerBlocks = new long[blocks.length - 1][];
+        long[] fewerFirsts = new long[firsts.length - 1];
+        System.arraycopy(blocks, 0, fewerBlocks, 0, b);
+        System.arraycopy(firsts, 0, fewerFirsts, 0, b);
+        System.arraycopy(blocks, b + 1, fewerBlocks, b, blocks.length - b - 1);
+        System.arraycopy(firsts, b + 1, fewerFirsts, b, firsts.length - b - 1);
+
+        return new SortedIdSet(fewerBlocks, fewerFirsts, size - 1);
+    }
+
+    /**
+     * Index of the block {@code id} belongs in, -1 when it is below the first id.
+     */
+    private int blockOf(long id) {
+        int index = Arrays.binarySearch(firsts, id);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private SortedIdSet replace(int b, long[] block, int newSize) {
+        long[][] newBlocks = blocks.clone();
+        long[] newFirsts = firsts.clone();
+        newBlocks[b] = block;
+        newFirsts[b] = block[0];
+
+        return new SortedIdSet(newBlocks, newFirsts, newSize);
+    }
+}
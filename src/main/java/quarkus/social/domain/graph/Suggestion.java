@@ -0,0 +1,7 @@
+package quarkus.social.domain.graph;
+
+/**
+ * A user {@code userId} could follow, reached through {@code overlap} of the people they already follow.
+ */
+public record Suggestion(long userId, int overlap) {
+}
@@ -0,0 +1,85 @@
+package quarkus.social.domain.id;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit ids: 41 bits of milliseconds since 2023-01-01, 10 bits of node
+ * ({@code social.id.node}, unique per running instance) and a 12-bit sequence.
+ * <p>
+ * The last (millisecond, sequence) pair lives in a single {@link AtomicLong}, so {@link #nextId()}
+ * is a CAS loop without locks or allocation. When the 4096 ids of a millisecond are used up, or
+ * the clock steps back, the generator keeps counting on the last millisecond it issued, so ids
+ * stay unique and increasing and catch up with the clock once it passes them.
+ * <p>
+ * Ids are above 2^53 (since the first weeks of 2023), so JavaScript clients that parse them as
+ * numbers lose the low bits; such clients must read the raw JSON number as a string or BigInt.
+ */
+public final class Snowflake {
+    private static final long EPOCH = 1_672_531_200_000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static volatile Snowflake instance;
+
+    private final long node;
+    private final AtomicLong last = new AtomicLong();
+
+    public Snowflake(long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("social.id.node must be between 0 and " + MAX_NODE);
+        }
+        this.node = node << SEQUENCE_BITS;
+    }
+
+    /**
+     * The process-wide generator for the configured node.
+     */
+    public static Snowflake get() {
+        Snowflake snowflake = instance;
+        if (snowflake == null) {
+            synchronized (Snowflake.class) {
+                snowflake = instance;
+                if (snowflake == null) {
+                    long node = ConfigProvider.getConfig().getOptionalValue("social.id.node", Long.class)
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "social.id.node is not set: give each instance sharing the database its own node from 0 to " + MAX_NODE));
+                    instance = snowflake = new Snowflake(node);
+                }
+            }
+        }
+
+        return snowflake;
+    }
+
+    /**
+     * Wall-clock millisecond at which {@code id} was generated.
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * Smallest id any node generates at or after {@code epochMillis}, for range scans by time.
+     */
+    public static long lowestIdAt(long epochMillis) {
+        return Math.max(0, epochMillis - EPOCH) << (NODE_BITS + SEQUENCE_BITS);
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = last.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            long next = now > current >>> SEQUENCE_BITS
+                    ? now << SEQUENCE_BITS
+                    : current + 1;
+
+            if (last.compareAndSet(current, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
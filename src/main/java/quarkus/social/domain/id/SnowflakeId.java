@@ -0,0 +1,17 @@
+package quarkus.social.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@code @Id} as assigned by {@link Snowflake} before the insert, instead of by the database.
+ */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,15 @@
+package quarkus.social.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * An {@link IdentifierGenerator}, rather than a bare before-execution generator, so that Hibernate
+ * Reactive (-Dstack=reactive) assigns the ids too.
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return Snowflake.get().nextId();
+    }
+}
@@ -0,0 +1,16 @@
+package quarkus.social.domain.id;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+/**
+ * Creates the generator at startup, so a missing or invalid {@code social.id.node} stops the
+ * application instead of failing its first insert.
+ */
+@ApplicationScoped
+public class SnowflakeStartup {
+    void onStart(@Observes StartupEvent event) {
+        Snowflake.get();
+    }
+}
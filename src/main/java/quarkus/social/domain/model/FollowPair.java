@@ -0,0 +1,7 @@
+package quarkus.social.domain.model;
+
+/**
+ * The follow edge of {@code followerId} following {@code userId}, without loading either user.
+ */
+public record FollowPair(Long userId, Long followerId) {
+}
@@ -2,20 +2,23 @@ package quarkus.social.domain.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import quarkus.social.domain.id.SnowflakeId;
 
 @Entity
-@Table(name = "followers")
+@Table(name = "followers",
+        uniqueConstraints = @UniqueConstraint(name = "uk_followers_user_follower", columnNames = {"user_id", "follower_id"}),
+        indexes = @Index(name = "idx_followers_follower_user", columnList = "follower_id, user_id"))
 @Data
 public class Follower {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "follower_id")
     private User follower;
 }
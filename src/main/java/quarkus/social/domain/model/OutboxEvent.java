@@ -0,0 +1,27 @@
+package quarkus.social.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import quarkus.social.domain.id.SnowflakeId;
+
+/**
+ * A change event written in the transaction of the change itself and deleted once relayed.
+ * Ids are time-ordered, so relaying by id keeps the commit order of a single node.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+public class OutboxEvent {
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "event_type")
+    private String type;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(length = 2000)
+    private String payload;
+}
@@ -2,16 +2,18 @@ package quarkus.social.domain.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import quarkus.social.domain.id.SnowflakeId;
 
 import java.sql.Date;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts",
+        indexes = @Index(name = "idx_posts_user_date", columnList = "user_id, date_time desc, id desc"))
 @Data
 public class Post {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
     @Column(name = "post_text")
     private String text;
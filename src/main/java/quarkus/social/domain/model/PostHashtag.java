@@ -0,0 +1,20 @@
+package quarkus.social.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import quarkus.social.domain.id.SnowflakeId;
+
+@Entity
+@Table(name = "post_hashtags",
+        indexes = @Index(name = "idx_post_hashtags_tag_post", columnList = "tag, post_id desc"))
+@Data
+public class PostHashtag {
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    private String tag;
+}
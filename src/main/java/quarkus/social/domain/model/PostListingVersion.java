@@ -0,0 +1,8 @@
+package quarkus.social.domain.model;
+
+/**
+ * How many posts an author has and the highest of their ids. Posts are only added or removed,
+ * so any change to the author's listing, made by any instance, changes one of the two.
+ */
+public record PostListingVersion(Long count, Long lastId) {
+}
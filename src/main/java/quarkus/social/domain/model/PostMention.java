@@ -0,0 +1,20 @@
+package quarkus.social.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import quarkus.social.domain.id.SnowflakeId;
+
+@Entity
+@Table(name = "post_mentions",
+        indexes = @Index(name = "idx_post_mentions_mention_post", columnList = "mention, post_id desc"))
+@Data
+public class PostMention {
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    private String mention;
+}
@@ -0,0 +1,27 @@
+package quarkus.social.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.sql.Date;
+
+@Entity
+@Table(name = "timeline_entries")
+@Data
+public class TimelineEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "author_id")
+    private Long authorId;
+
+    @Column(name = "date_time")
+    private Date dateTime;
+}
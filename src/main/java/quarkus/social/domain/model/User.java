@@ -2,15 +2,17 @@ package quarkus.social.domain.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import quarkus.social.domain.id.SnowflakeId;
 
 import java.sql.Date;
 
 @Entity
+@Cacheable
 @Table(name = "users")
 @Data
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     private String name;
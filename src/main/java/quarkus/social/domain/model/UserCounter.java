@@ -0,0 +1,28 @@
+package quarkus.social.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * One stripe of a user's follower/following counters. A user's totals are the sum of its stripes,
+ * so concurrent follows of the same account update different rows instead of queueing on one.
+ */
+@Entity
+@Table(name = "user_counters", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "shard"}))
+@Data
+public class UserCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private Integer shard;
+
+    @Column(name = "followers_count")
+    private Long followersCount;
+
+    @Column(name = "following_count")
+    private Long followingCount;
+}
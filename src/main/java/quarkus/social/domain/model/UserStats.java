@@ -0,0 +1,7 @@
+package quarkus.social.domain.model;
+
+/**
+ * Follower and following totals of a user, summed over its counter stripes.
+ */
+public record UserStats(Long followersCount, Long followingCount) {
+}
@@ -0,0 +1,4 @@
+package quarkus.social.domain.model;
+
+public record UserSummary(Long id, String name) {
+}
@@ -0,0 +1,26 @@
+package quarkus.social.domain.outbox;
+
+import quarkus.social.domain.model.OutboxEvent;
+
+/**
+ * A relayed outbox event as sinks and in-JVM subscribers ({@code @Observes ChangeEvent}) see it.
+ * {@code payload} is a JSON document; {@link #toJson()} wraps it as
+ * {@code {"id":..,"type":"..","aggregateId":..,"payload":{..}}}.
+ */
+public record ChangeEvent(long id, String type, long aggregateId, String payload) {
+    public static final String USER_CREATED = "user.created";
+    public static final String USER_UPDATED = "user.updated";
+    public static final String USER_DELETED = "user.deleted";
+    public static final String POST_CREATED = "post.created";
+    public static final String FOLLOW_CREATED = "follow.created";
+    public static final String FOLLOW_DELETED = "follow.deleted";
+
+    public static ChangeEvent fromEntity(OutboxEvent event) {
+        return new ChangeEvent(event.getId(), event.getType(), event.getAggregateId(), event.getPayload());
+    }
+
+    public String toJson() {
+        return "{\"id\":" + id + ",\"type\":\"" + type + "\",\"aggregateId\":" + aggregateId
+                + ",\"payload\":" + payload + "}";
+    }
+}
@@ -0,0 +1,43 @@
+package quarkus.social.domain.outbox;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event as one JSON line to {@code social.outbox.file}, for tailing consumers.
+ */
+@ApplicationScoped
+public class FileOutboxSink implements OutboxSink {
+    private final Path file;
+
+    @Inject
+    public FileOutboxSink(@ConfigProperty(name = "social.outbox.file", defaultValue = "data/outbox.ndjson") Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 128);
+        for (ChangeEvent event : events) {
+            lines.append(event.toJson()).append('\n');
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,34 @@
+package quarkus.social.domain.outbox;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+
+import java.util.List;
+
+/**
+ * Delivers events to in-process subscribers as CDI events: {@code void on(@Observes ChangeEvent event)}.
+ * Observers run on the relay thread, in its transaction, and a throwing observer makes the batch
+ * be published again.
+ */
+@ApplicationScoped
+public class JvmOutboxSink implements OutboxSink {
+    private final Event<ChangeEvent> changes;
+
+    @Inject
+    public JvmOutboxSink(Event<ChangeEvent> changes) {
+        this.changes = changes;
+    }
+
+    @Override
+    public String name() {
+        return "jvm";
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            changes.fire(event);
+        }
+    }
+}
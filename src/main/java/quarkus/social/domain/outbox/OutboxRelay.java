@@ -0,0 +1,113 @@
+package quarkus.social.domain.outbox;
+
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.model.OutboxEvent;
+import quarkus.social.domain.repository.OutboxRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Publishes the outbox in id order: a single {@code outbox-relay} thread reads up to
+ * {@code social.outbox.batch-size} events, hands them to every enabled {@link OutboxSink} and
+ * deletes them in the same transaction. When a sink fails, the transaction rolls back and the
+ * batch is published again after a pause.
+ * <p>
+ * Only one instance per database may relay, otherwise events are published once per instance, so
+ * {@code social.outbox.relay.enabled} is off unless set (it is on in dev and test).
+ */
+@ApplicationScoped
+public class OutboxRelay {
+    private static final long RETRY_MILLIS = 1000;
+
+    private final OutboxRepository repository;
+    private final List<OutboxSink> sinks;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollMillis;
+    private Thread relay;
+    private volatile boolean running;
+
+    @Inject
+    public OutboxRelay(OutboxRepository repository, @Any Instance<OutboxSink> availableSinks,
+                       @ConfigProperty(name = "social.outbox.relay.enabled", defaultValue = "false") boolean enabled,
+                       @ConfigProperty(name = "social.outbox.sinks", defaultValue = "jvm") List<String> sinkNames,
+                       @ConfigProperty(name = "social.outbox.batch-size", defaultValue = "500") int batchSize,
+                       @ConfigProperty(name = "social.outbox.poll-millis", defaultValue = "200") long pollMillis) {
+        this.repository = repository;
+        this.sinks = availableSinks.stream().filter(sink -> sinkNames.contains(sink.name())).toList();
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollMillis = pollMillis;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled || sinks.isEmpty()) {
+            return;
+        }
+
+        running = true;
+        relay = new Thread(this::relay, "outbox-relay");
+        relay.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        if (relay == null) {
+            return;
+        }
+
+        running = false;
+        relay.join();
+    }
+
+    private void relay() {
+        while (running) {
+            try {
+                int published = QuarkusTransaction.requiringNew().call(this::publishBatch);
+                if (published < batchSize) {
+                    Thread.sleep(pollMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                Log.errorf(e, "Could not relay outbox events, retrying");
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> batch = repository.findBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<ChangeEvent> events = batch.stream().map(ChangeEvent::fromEntity).toList();
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        repository.deleteByIds(events.stream().map(ChangeEvent::id).toList());
+
+        return events.size();
+    }
+}
@@ -0,0 +1,15 @@
+package quarkus.social.domain.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of relayed change events, enabled by listing its {@link #name()} in
+ * {@code social.outbox.sinks}. A batch that fails in any sink is published again to every sink,
+ * so delivery is at least once and consumers should skip ids they have already seen.
+ */
+public interface OutboxSink {
+    String name();
+
+    void publish(List<ChangeEvent> events) throws IOException;
+}
@@ -1,42 +1,366 @@
 package quarkus.social.domain.repository;
 
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import quarkus.social.domain.event.FollowChanged;
+import quarkus.social.domain.graph.FollowGraph;
+import quarkus.social.domain.graph.Suggestion;
+import quarkus.social.domain.id.Snowflake;
+import quarkus.social.domain.model.FollowPair;
 import quarkus.social.domain.model.Follower;
 import quarkus.social.domain.model.User;
+import quarkus.social.domain.model.UserSummary;
 
-import java.util.HashMap;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 @ApplicationScoped
 public class FollowerRepository implements PanacheRepository<Follower> {
+    // a duplicate edge is a no-op; any other failure, such as a missing user, still raises an error
+    private static final String UPSERT = "insert into followers (id, user_id, follower_id) values (?1, ?2, ?3) "
+            + "on duplicate key update follower_id = follower_id";
+    private static final String JDBC_UPSERT = "insert into followers (id, user_id, follower_id) values (?, ?, ?) "
+            + "on duplicate key update follower_id = follower_id";
+
+    private final FollowGraph followGraph;
+    private final Event<FollowChanged> followChanged;
+    private final int batchSize;
+
+    @Inject
+    public FollowerRepository(FollowGraph followGraph, Event<FollowChanged> followChanged,
+                              @ConfigProperty(name = "social.bulk.batch-size", defaultValue = "1000") int batchSize) {
+        this.followGraph = followGraph;
+        this.followChanged = followChanged;
+        this.batchSize = batchSize;
+    }
+
     public Boolean follows(User follower, User user){
+        if (followGraph.isReady()) {
+            return followGraph.follows(follower.getId(), user.getId());
+        }
+
+        return countFollows(follower.getId(), user.getId()) > 0;
+    }
+
+    /**
+     * Edges from {@code followerId} to {@code userId} in the database, 0 or 1, answered from the
+     * unique (user_id, follower_id) index without loading the edge.
+     */
+    public long countFollows(Long followerId, Long userId) {
         Map<String, Object> params = Parameters
-                .with("follower", follower)
-                .and("user", user)
+                .with("followerId", followerId)
+                .and("userId", userId)
                 .map();
-        PanacheQuery<Follower> query = find("follower =:follower and user =:user", params);
-        Optional<Follower> result = query.firstResultOptional();
 
-        return result.isPresent();
+        return count("follower.id =:followerId and user.id =:userId", params);
+    }
+
+    /**
+     * Creates the edge unless it already exists. The unique (user_id, follower_id) index makes
+     * concurrent follows of the same pair collapse into one row; only the call that actually
+     * inserted it fires {@link FollowChanged}. Connector/J reports a matched duplicate as one row,
+     * like an insert, so the edge counts as new only when the row carries the id given here.
+     */
+    public boolean follow(User user, User follower) {
+        long id = Snowflake.get().nextId();
+        int affected = getEntityManager()
+                .createNativeQuery(UPSERT)
+                .setParameter(1, id)
+                .setParameter(2, user.getId())
+                .setParameter(3, follower.getId())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Follower.class)
+                .executeUpdate();
+
+        if (affected == 0 || count("id", id) == 0) {
+            return false;
+        }
+
+        followChanged.fire(FollowChanged.single(user.getId(), follower.getId(), true));
+
+        return true;
+    }
+
+    /**
+     * Sorted ids of the users {@code followerId} follows, from the follow graph when it is loaded.
+     */
+    public long[] findFollowedIds(Long followerId) {
+        if (followGraph.isReady()) {
+            return followGraph.followingOf(followerId);
+        }
+
+        return getEntityManager()
+                .createQuery("select f.user.id from Follower f where f.follower.id = :followerId order by f.user.id", Long.class)
+                .setParameter("followerId", followerId)
+                .getResultStream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    /**
+     * Sorted ids of the users following both {@code userId} and {@code otherId}, from the follow
+     * graph when it is loaded.
+     */
+    public long[] findCommonFollowerIds(Long userId, Long otherId) {
+        if (followGraph.isReady()) {
+            return followGraph.commonFollowers(userId, otherId);
+        }
+
+        return FollowGraph.intersect(findFollowerIds(userId), findFollowerIds(otherId));
+    }
+
+    /**
+     * "People you may know" for {@code userId}, from the follow graph when it is loaded. Otherwise at
+     * most {@code maxScan} second-degree edges are read in one query, in (friend, followee) order
+     * rather than smallest friends first, and ranked the same way.
+     */
+    public List<Suggestion> findSuggestions(Long userId, int limit, int maxScan) {
+        if (followGraph.isReady()) {
+            return followGraph.suggestions(userId, limit, maxScan);
+        }
+
+        long[] candidates = getEntityManager()
+                .createQuery("select f2.user.id from Follower f1, Follower f2 "
+                        + "where f1.follower.id = :userId and f2.follower.id = f1.user.id "
+                        + "order by f2.follower.id, f2.user.id", Long.class)
+                .setParameter("userId", userId)
+                .setMaxResults(maxScan)
+                .getResultStream()
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        return FollowGraph.rankSuggestions(userId, findFollowedIds(userId), candidates, limit);
+    }
+
+    private long[] findFollowerIds(Long userId) {
+        return getEntityManager()
+                .createQuery("select f.follower.id from Follower f where f.user.id = :userId order by f.follower.id", Long.class)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .mapToLong(Long::longValue)
+                .toArray();
     }
 
-    public List<Follower> findByUser(Long userId) {
-        PanacheQuery<Follower> query = find("user.id", userId);
+    /**
+     * Keyset page of the followers of {@code userId} ordered by follower id, projected straight
+     * into {@link UserSummary} so neither side of the edge is loaded as an entity.
+     */
+    public List<UserSummary> findPageByUser(Long userId, Long afterFollowerId, int size) {
+        return getEntityManager()
+                .createQuery("select new quarkus.social.domain.model.UserSummary(u.id, u.name) "
+                        + "from Follower f join f.follower u "
+                        + "where f.user.id = :userId and u.id > :afterFollowerId "
+                        + "order by u.id", UserSummary.class)
+                .setParameter("userId", userId)
+                .setParameter("afterFollowerId", afterFollowerId == null ? 0L : afterFollowerId)
+                .setMaxResults(size)
+                .getResultList();
+    }
 
-        return query.list();
+    /**
+     * Ids of the users followed by {@code followerId} that have more than {@code threshold} followers.
+     */
+    public List<Long> findFollowedWithMoreFollowersThan(Long followerId, long threshold) {
+        return getEntityManager()
+                .createQuery("select c.userId from UserCounter c "
+                        + "where c.userId in (select f.user.id from Follower f where f.follower.id = :followerId) "
+                        + "group by c.userId having sum(c.followersCount) > :threshold", Long.class)
+                .setParameter("followerId", followerId)
+                .setParameter("threshold", threshold)
+                .getResultList();
     }
 
-    public void deleteByFollowerAndUser(Long userId, Long followerId) {
+    public long deleteByFollowerAndUser(Long userId, Long followerId) {
         Map<String, Object> params = Parameters
                 .with("userId", userId)
                 .and("followerId", followerId)
                 .map();
 
-        delete("follower.id =:followerId and user.id =:userId", params);
+        long deleted = delete("follower.id =:followerId and user.id =:userId", params);
+        if (deleted > 0) {
+            followChanged.fire(FollowChanged.single(userId, followerId, false));
+        }
+
+        return deleted;
+    }
+
+    /**
+     * The subset of the given (user, follower) pairs that already exist, read with one query.
+     */
+    public Set<FollowPair> findExistingEdges(Collection<FollowPair> edges) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> followerIds = new HashSet<>();
+        edges.forEach(edge -> {
+            userIds.add(edge.userId());
+            followerIds.add(edge.followerId());
+        });
+
+        Set<FollowPair> existing = new HashSet<>(getEntityManager()
+                .createQuery("select new quarkus.social.domain.model.FollowPair(f.user.id, f.follower.id) from Follower f "
+                        + "where f.user.id in :userIds and f.follower.id in :followerIds", FollowPair.class)
+                .setParameter("userIds", userIds)
+                .setParameter("followerIds", followerIds)
+                .getResultList());
+        existing.retainAll(edges);
+
+        return existing;
+    }
+
+    /**
+     * Inserts edges through JDBC batches of {@code social.bulk.batch-size} rows, leaving the ones a
+     * concurrent request created first, and returns the edges that were inserted. Neither the
+     * {@link Statement#SUCCESS_NO_INFO} of a rewritten batch nor the count of a matched duplicate
+     * says which rows are new, so the chunk's new ids are read back instead.
+     */
+    public List<FollowPair> followAll(List<FollowPair> edges) {
+        List<FollowPair> inserted = new ArrayList<>();
+
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(JDBC_UPSERT)) {
+                Snowflake snowflake = Snowflake.get();
+                for (int from = 0; from < edges.size(); from += batchSize) {
+                    List<FollowPair> chunk = edges.subList(from, Math.min(from + batchSize, edges.size()));
+                    long[] ids = new long[chunk.size()];
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ids[i] = snowflake.nextId();
+                        statement.setLong(1, ids[i]);
+                        statement.setLong(2, chunk.get(i).userId());
+                        statement.setLong(3, chunk.get(i).followerId());
+                        statement.addBatch();
+                    }
+
+                    statement.executeBatch();
+                    Set<Long> written = findWrittenIds(connection, ids);
+                    for (int i = 0; i < ids.length; i++) {
+                        if (written.contains(ids[i])) {
+                            inserted.add(chunk.get(i));
+                        }
+                    }
+                }
+            }
+        });
+
+        fireChanged(inserted, true);
+
+        return inserted;
+    }
+
+    /**
+     * Deletes edges through JDBC batches and returns the ones that actually existed. Each chunk's
+     * existing edges are locked first, so the result does not depend on the batch update counts.
+     */
+    public List<FollowPair> unfollowAll(List<FollowPair> edges) {
+        List<FollowPair> deleted = new ArrayList<>();
+
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "delete from followers where user_id = ? and follower_id = ?")) {
+                for (int from = 0; from < edges.size(); from += batchSize) {
+                    List<FollowPair> chunk = edges.subList(from, Math.min(from + batchSize, edges.size()));
+                    Set<FollowPair> existing = lockExistingEdges(connection, chunk);
+                    if (existing.isEmpty()) {
+                        continue;
+                    }
+
+                    for (FollowPair edge : chunk) {
+                        if (existing.remove(edge)) {
+                            statement.setLong(1, edge.userId());
+                            statement.setLong(2, edge.followerId());
+                            statement.addBatch();
+                            deleted.add(edge);
+                        }
+                    }
+
+                    statement.executeBatch();
+                }
+            }
+        });
+
+        fireChanged(deleted, false);
+
+        return deleted;
+    }
+
+    private static Set<Long> findWrittenIds(Connection connection, long[] ids) throws SQLException {
+        Set<Long> written = new HashSet<>();
+        String sql = "select id from followers where id in (" + placeholders(ids.length) + ")";
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            for (int i = 0; i < ids.length; i++) {
+                select.setLong(i + 1, ids[i]);
+            }
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    written.add(rows.getLong(1));
+                }
+            }
+        }
+
+        return written;
+    }
+
+    private static Set<FollowPair> lockExistingEdges(Connection connection, List<FollowPair> chunk) throws SQLException {
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<Long> followerIds = new LinkedHashSet<>();
+        chunk.forEach(edge -> {
+            userIds.add(edge.userId());
+            followerIds.add(edge.followerId());
+        });
+
+        Set<FollowPair> existing = new HashSet<>();
+        String sql = "select user_id, follower_id from followers where user_id in (" + placeholders(userIds.size())
+                + ") and follower_id in (" + placeholders(followerIds.size()) + ") for update";
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (Long userId : userIds) {
+                select.setLong(index++, userId);
+            }
+            for (Long followerId : followerIds) {
+                select.setLong(index++, followerId);
+            }
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    existing.add(new FollowPair(rows.getLong(1), rows.getLong(2)));
+                }
+            }
+        }
+        existing.retainAll(new HashSet<>(chunk));
+
+        return existing;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private void fireChanged(List<FollowPair> edges, boolean following) {
+        if (edges.isEmpty()) {
+            return;
+        }
+
+        long[] userIds = new long[edges.size()];
+        long[] followerIds = new long[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            userIds[i] = edges.get(i).userId();
+            followerIds[i] = edges.get(i).followerId();
+        }
+
+        followChanged.fire(new FollowChanged(userIds, followerIds, following));
     }
 }
@@ -0,0 +1,105 @@
+package quarkus.social.domain.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import quarkus.social.domain.event.FollowChanged;
+import quarkus.social.domain.event.PostCreated;
+import quarkus.social.domain.event.UserChanged;
+import quarkus.social.domain.id.Snowflake;
+import quarkus.social.domain.model.OutboxEvent;
+import quarkus.social.domain.outbox.ChangeEvent;
+import quarkus.social.rest.dto.PostResponse;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Transactional outbox: every user, post and follow change adds its change events in the
+ * transaction of the change, so an event exists exactly when the change was committed.
+ * {@link quarkus.social.domain.outbox.OutboxRelay} publishes and deletes them.
+ */
+@ApplicationScoped
+public class OutboxRepository implements PanacheRepository<OutboxEvent> {
+    private static final String INSERT = "insert into outbox_events (id, event_type, aggregate_id, payload) values (?, ?, ?, ?)";
+    private static final int CHUNK = 1000;
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    private final boolean enabled;
+
+    @Inject
+    public OutboxRepository(@ConfigProperty(name = "social.outbox.enabled", defaultValue = "true") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void onUserChanged(@Observes UserChanged event) {
+        if (!enabled) {
+            return;
+        }
+
+        Long userId = event.user().getId();
+        switch (event.type()) {
+            case CREATED -> add(ChangeEvent.USER_CREATED, userId, JSONB.toJson(event.user()));
+            case UPDATED -> add(ChangeEvent.USER_UPDATED, userId, JSONB.toJson(event.user()));
+            case DELETED -> add(ChangeEvent.USER_DELETED, userId, "{\"id\":" + userId + "}");
+        }
+    }
+
+    void onPostCreated(@Observes PostCreated event) {
+        if (!enabled) {
+            return;
+        }
+
+        PostResponse post = PostResponse.fromEntity(event.post());
+        add(ChangeEvent.POST_CREATED, post.getId(), JSONB.toJson(post));
+    }
+
+    void onFollowChanged(@Observes FollowChanged event) {
+        if (!enabled) {
+            return;
+        }
+
+        String type = event.following() ? ChangeEvent.FOLLOW_CREATED : ChangeEvent.FOLLOW_DELETED;
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (int i = 0; i < event.size(); i++) {
+                    long userId = event.userIds()[i];
+                    statement.setLong(1, Snowflake.get().nextId());
+                    statement.setString(2, type);
+                    statement.setLong(3, userId);
+                    statement.setString(4, "{\"userId\":" + userId + ",\"followerId\":" + event.followerIds()[i] + "}");
+                    statement.addBatch();
+                    if ((i + 1) % CHUNK == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * The oldest {@code limit} events not relayed yet.
+     */
+    public List<OutboxEvent> findBatch(int limit) {
+        return findAll(Sort.by("id")).page(0, limit).list();
+    }
+
+    public long deleteByIds(List<Long> ids) {
+        return delete("id in ?1", ids);
+    }
+
+    private void add(String type, Long aggregateId, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setType(type);
+        event.setAggregateId(aggregateId);
+        event.setPayload(payload);
+        persist(event);
+    }
+}
@@ -1,9 +1,77 @@
 package quarkus.social.domain.repository;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.PostListingVersion;
+import quarkus.social.domain.model.User;
+
+import java.sql.Date;
+import java.util.List;
 
 @ApplicationScoped
 public class PostRepository implements PanacheRepository<Post> {
+    private static final Sort NEWEST_FIRST = Sort
+            .by("dateTime", Sort.Direction.Descending)
+            .and("id", Sort.Direction.Descending);
+
+    /**
+     * Keyset page of a user's posts ordered by (dateTime, id) descending.
+     * When {@code afterDate} and {@code afterId} are null the first page is returned,
+     * otherwise only rows strictly after that position.
+     */
+    public List<Post> findPageByUser(User user, Date afterDate, Long afterId, int size) {
+        PanacheQuery<Post> query;
+
+        if (afterDate == null || afterId == null) {
+            query = find("user", NEWEST_FIRST, user);
+        } else {
+            Parameters params = Parameters
+                    .with("user", user)
+                    .and("date", afterDate)
+                    .and("id", afterId);
+            query = find("user = :user and (dateTime < :date or (dateTime = :date and id < :id))",
+                    NEWEST_FIRST, params);
+        }
+
+        return query.range(0, size - 1).list();
+    }
+
+    /**
+     * Same keyset page as {@link #findPageByUser} but across several authors at once.
+     */
+    public List<Post> findPageByUsers(List<Long> userIds, Date afterDate, Long afterId, int size) {
+        PanacheQuery<Post> query;
+
+        if (afterDate == null || afterId == null) {
+            query = find("user.id in :userIds", NEWEST_FIRST, Parameters.with("userIds", userIds));
+        } else {
+            Parameters params = Parameters
+                    .with("userIds", userIds)
+                    .and("date", afterDate)
+                    .and("id", afterId);
+            query = find("user.id in :userIds and (dateTime < :date or (dateTime = :date and id < :id))",
+                    NEWEST_FIRST, params);
+        }
+
+        return query.range(0, size - 1).list();
+    }
+
+    /**
+     * Version of the author's listing, answered from the (user_id, date_time, id) index alone.
+     */
+    public PostListingVersion findListingVersion(Long userId) {
+        return getEntityManager()
+                .createQuery("select new quarkus.social.domain.model.PostListingVersion(count(p), coalesce(max(p.id), 0L)) "
+                        + "from Post p where p.user.id = :userId", PostListingVersion.class)
+                .setParameter("userId", userId)
+                .getSingleResult();
+    }
+
+    public List<Post> findByIds(List<Long> ids) {
+        return list("id in ?1", ids);
+    }
 }
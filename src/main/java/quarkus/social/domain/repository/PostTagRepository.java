@@ -0,0 +1,75 @@
+package quarkus.social.domain.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.hibernate.Session;
+import quarkus.social.domain.event.PostCreated;
+import quarkus.social.domain.id.Snowflake;
+import quarkus.social.domain.model.PostHashtag;
+import quarkus.social.domain.trends.PostTags;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Hashtags and mentions of each post, written in the transaction that stores the post. Posts
+ * without tags cost no statement.
+ */
+@ApplicationScoped
+public class PostTagRepository implements PanacheRepository<PostHashtag> {
+    private static final String INSERT_HASHTAG = "insert into post_hashtags (id, post_id, tag) values (?, ?, ?)";
+    private static final String INSERT_MENTION = "insert into post_mentions (id, post_id, mention) values (?, ?, ?)";
+
+    void onPostCreated(@Observes PostCreated event) {
+        PostTags tags = PostTags.extract(event.post().getText());
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        long postId = event.post().getId();
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            if (!tags.hashtags().isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_HASHTAG)) {
+                    insertAll(statement, postId, tags.hashtags());
+                }
+            }
+            if (!tags.mentions().isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_MENTION)) {
+                    insertAll(statement, postId, tags.mentions());
+                }
+            }
+        });
+    }
+
+    /**
+     * Up to {@code limit} {@code (id, tag)} rows with an id above {@code afterId}, by id. Row ids are
+     * Snowflake ids, so starting from {@link Snowflake#lowestIdAt} is a primary-key range scan by time.
+     */
+    public List<Object[]> findHashtagsAfter(long afterId, int limit) {
+        return getEntityManager()
+                .createQuery("select h.id, h.tag from PostHashtag h where h.id > :afterId order by h.id", Object[].class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<Object[]> findMentionsAfter(long afterId, int limit) {
+        return getEntityManager()
+                .createQuery("select m.id, m.mention from PostMention m where m.id > :afterId order by m.id", Object[].class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static void insertAll(PreparedStatement statement, long postId, List<String> values) throws SQLException {
+        for (String value : values) {
+            statement.setLong(1, Snowflake.get().nextId());
+            statement.setLong(2, postId);
+            statement.setString(3, value);
+            statement.addBatch();
+        }
+        statement.executeBatch();
+    }
+}
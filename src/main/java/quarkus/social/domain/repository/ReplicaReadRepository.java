@@ -0,0 +1,160 @@
+package quarkus.social.domain.repository;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.model.UserSummary;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.rest.admission.AdmissionControl;
+import quarkus.social.rest.dto.PostResponse;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The read-only queries served by the {@code replica} datasource. A persistence unit is bound to
+ * one datasource, so these run as plain JDBC and return detached objects; the SQL mirrors the
+ * JPQL of {@link UserRepository}, {@link PostRepository} and {@link FollowerRepository}, and
+ * ReadReplicaTest runs both against the same rows.
+ * <p>
+ * Each query holds one of the replica permits of {@link AdmissionControl} while it has a
+ * connection, so callers queue fairly for the replica pool and get a 503 once the admission
+ * timeout passes, as they do for the primary.
+ */
+@ApplicationScoped
+public class ReplicaReadRepository {
+    private static final String ALL_USERS = "select id, name, age from users";
+    private static final String FIRST_POSTS = "select id, user_id, post_text, date_time from posts "
+            + "where user_id = ? order by date_time desc, id desc limit ?";
+    private static final String NEXT_POSTS = "select id, user_id, post_text, date_time from posts "
+            + "where user_id = ? and (date_time < ? or (date_time = ? and id < ?)) "
+            + "order by date_time desc, id desc limit ?";
+    private static final String FOLLOWERS = "select u.id, u.name from followers f join users u on u.id = f.follower_id "
+            + "where f.user_id = ? and u.id > ? order by u.id limit ?";
+    private static final String FOLLOWERS_COUNT = "select coalesce(sum(followers_count), 0) from user_counters where user_id = ?";
+
+    private final AgroalDataSource dataSource;
+    private final AdmissionControl admissionControl;
+
+    @Inject
+    public ReplicaReadRepository(@DataSource("replica") AgroalDataSource dataSource, AdmissionControl admissionControl) {
+        this.dataSource = dataSource;
+        this.admissionControl = admissionControl;
+    }
+
+    public List<User> findAllUsers() {
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ALL_USERS);
+                 ResultSet rows = statement.executeQuery()) {
+                List<User> users = new ArrayList<>();
+                while (rows.next()) {
+                    User user = new User();
+                    user.setId(rows.getLong(1));
+                    user.setName(rows.getString(2));
+                    user.setAge(rows.getDate(3));
+                    users.add(user);
+                }
+
+                return users;
+            }
+        });
+    }
+
+    /**
+     * Same keyset page as {@link PostRepository#findPageByUser}.
+     */
+    public List<PostResponse> findPostPage(Long userId, Date afterDate, Long afterId, int size) {
+        boolean first = afterDate == null || afterId == null;
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(first ? FIRST_POSTS : NEXT_POSTS)) {
+                statement.setLong(1, userId);
+                if (first) {
+                    statement.setInt(2, size);
+                } else {
+                    statement.setDate(2, afterDate);
+                    statement.setDate(3, afterDate);
+                    statement.setLong(4, afterId);
+                    statement.setInt(5, size);
+                }
+
+                try (ResultSet rows = statement.executeQuery()) {
+                    List<PostResponse> posts = new ArrayList<>(size);
+                    while (rows.next()) {
+                        posts.add(new PostResponse(rows.getLong(1), rows.getLong(2), rows.getString(3), rows.getDate(4)));
+                    }
+
+                    return posts;
+                }
+            }
+        });
+    }
+
+    /**
+     * Same keyset page as {@link FollowerRepository#findPageByUser}.
+     */
+    public List<UserSummary> findFollowerPage(Long userId, Long afterFollowerId, int size) {
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(FOLLOWERS)) {
+                statement.setLong(1, userId);
+                statement.setLong(2, afterFollowerId == null ? 0L : afterFollowerId);
+                statement.setInt(3, size);
+
+                try (ResultSet rows = statement.executeQuery()) {
+                    List<UserSummary> followers = new ArrayList<>(size);
+                    while (rows.next()) {
+                        followers.add(new UserSummary(rows.getLong(1), rows.getString(2)));
+                    }
+
+                    return followers;
+                }
+            }
+        });
+    }
+
+    public long countFollowers(Long userId) {
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(FOLLOWERS_COUNT)) {
+                statement.setLong(1, userId);
+
+                try (ResultSet rows = statement.executeQuery()) {
+                    rows.next();
+                    return rows.getLong(1);
+                }
+            }
+        });
+    }
+
+    private <T> T read(Query<T> query) {
+        boolean admitted = false;
+        try {
+            admitted = admissionControl.tryAcquireReplica();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!admitted) {
+            throw new MyException(ErrorMessages.SERVICE_BUSY.toString(), Response.Status.SERVICE_UNAVAILABLE);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            return query.run(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            admissionControl.releaseReplica();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Query<T> {
+        T run(Connection connection) throws SQLException;
+    }
+}
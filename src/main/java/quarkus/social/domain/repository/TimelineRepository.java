@@ -0,0 +1,141 @@
+package quarkus.social.domain.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import quarkus.social.domain.event.FollowChanged;
+import quarkus.social.domain.event.PostCreated;
+import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.TimelineEntry;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-follower materialized home timeline. Posts are pushed to every follower when they are
+ * written, except for authors above {@code social.feed.fanout-max-followers}, whose posts are
+ * pulled when the feed is read instead. Timelines are trimmed to {@code social.feed.max-entries}
+ * in the background by {@link quarkus.social.domain.timeline.TimelineSweeper}.
+ */
+@ApplicationScoped
+public class TimelineRepository implements PanacheRepository<TimelineEntry> {
+    private static final Sort NEWEST_FIRST = Sort
+            .by("dateTime", Sort.Direction.Descending)
+            .and("postId", Sort.Direction.Descending);
+    // the ranked derived table is materialized, so the delete may read the table it deletes from
+    private static final String TRIM = "delete from timeline_entries where id in ("
+            + "select id from (select id, row_number() over (partition by owner_id order by date_time desc, post_id desc) position "
+            + "from timeline_entries where owner_id in (:ownerIds)) ranked where position > :maxEntries)";
+
+    private final UserCounterRepository counterRepository;
+    private final long fanOutMaxFollowers;
+    private final int maxEntries;
+
+    @Inject
+    public TimelineRepository(UserCounterRepository counterRepository,
+                              @ConfigProperty(name = "social.feed.fanout-max-followers", defaultValue = "10000") long fanOutMaxFollowers,
+                              @ConfigProperty(name = "social.feed.max-entries", defaultValue = "800") int maxEntries) {
+        this.counterRepository = counterRepository;
+        this.fanOutMaxFollowers = fanOutMaxFollowers;
+        this.maxEntries = maxEntries;
+    }
+
+    public long getFanOutMaxFollowers() {
+        return fanOutMaxFollowers;
+    }
+
+    void onPostCreated(@Observes PostCreated event) {
+        Post post = event.post();
+        Long authorId = post.getUser().getId();
+
+        if (counterRepository.findStats(authorId).followersCount() > fanOutMaxFollowers) {
+            return;
+        }
+
+        getEntityManager()
+                .createQuery("insert into TimelineEntry (ownerId, postId, authorId, dateTime) "
+                        + "select f.follower.id, :postId, :authorId, :dateTime from Follower f where f.user.id = :authorId")
+                .setParameter("postId", post.getId())
+                .setParameter("authorId", authorId)
+                .setParameter("dateTime", post.getDateTime())
+                .executeUpdate();
+    }
+
+    /**
+     * An unfollowed author's posts leave the follower's timeline with the edge.
+     */
+    void onFollowChanged(@Observes FollowChanged event) {
+        if (event.following()) {
+            return;
+        }
+
+        if (event.size() == 1) {
+            deleteByOwnerAndAuthor(event.followerIds()[0], event.userIds()[0]);
+            return;
+        }
+
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "delete from timeline_entries where owner_id = ? and author_id = ?")) {
+                for (int i = 0; i < event.size(); i++) {
+                    statement.setLong(1, event.followerIds()[i]);
+                    statement.setLong(2, event.userIds()[i]);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    public List<TimelineEntry> findPage(Long ownerId, Date afterDate, Long afterPostId, int size) {
+        PanacheQuery<TimelineEntry> query;
+
+        if (afterDate == null || afterPostId == null) {
+            query = find("ownerId", NEWEST_FIRST, ownerId);
+        } else {
+            Parameters params = Parameters
+                    .with("ownerId", ownerId)
+                    .and("date", afterDate)
+                    .and("postId", afterPostId);
+            query = find("ownerId = :ownerId and (dateTime < :date or (dateTime = :date and postId < :postId))",
+                    NEWEST_FIRST, params);
+        }
+
+        return query.range(0, size - 1).list();
+    }
+
+    /**
+     * Up to {@code limit} {@code (id, ownerId)} rows of the entries added after {@code afterId}, by id.
+     */
+    public List<Object[]> findOwnersAfter(long afterId, int limit) {
+        return getEntityManager()
+                .createQuery("select t.id, t.ownerId from TimelineEntry t where t.id > :afterId order by t.id", Object[].class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Drops everything older than the newest {@code social.feed.max-entries} entries of each timeline.
+     */
+    public int trim(Collection<Long> ownerIds) {
+        return getEntityManager()
+                .createNativeQuery(TRIM)
+                .setParameter("ownerIds", ownerIds)
+                .setParameter("maxEntries", maxEntries)
+                .executeUpdate();
+    }
+
+    public void deleteByOwnerAndAuthor(Long ownerId, Long authorId) {
+        delete("ownerId = :ownerId and authorId = :authorId",
+                Parameters.with("ownerId", ownerId).and("authorId", authorId));
+    }
+}
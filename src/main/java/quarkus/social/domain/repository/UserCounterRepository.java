@@ -0,0 +1,101 @@
+package quarkus.social.domain.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import quarkus.social.domain.event.FollowChanged;
+import quarkus.social.domain.model.UserCounter;
+import quarkus.social.domain.model.UserStats;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@ApplicationScoped
+public class UserCounterRepository implements PanacheRepository<UserCounter> {
+    private static final String UPSERT = "insert into user_counters (user_id, shard, followers_count, following_count) "
+            + "values (?1, ?2, ?3, ?4) "
+            + "on duplicate key update followers_count = followers_count + ?3, following_count = following_count + ?4";
+    private static final String JDBC_UPSERT = "insert into user_counters (user_id, shard, followers_count, following_count) "
+            + "values (?, ?, ?, ?) "
+            + "on duplicate key update followers_count = followers_count + ?, following_count = following_count + ?";
+
+    private final int shards;
+
+    @Inject
+    public UserCounterRepository(@ConfigProperty(name = "social.counters.shards", defaultValue = "8") int shards) {
+        this.shards = shards;
+    }
+
+    void onFollowChanged(@Observes FollowChanged event) {
+        long delta = event.following() ? 1 : -1;
+
+        if (event.size() == 1) {
+            increment(event.userIds()[0], delta, 0);
+            increment(event.followerIds()[0], 0, delta);
+            return;
+        }
+
+        Map<Long, long[]> deltas = new HashMap<>();
+        for (int i = 0; i < event.size(); i++) {
+            deltas.computeIfAbsent(event.userIds()[i], id -> new long[2])[0] += delta;
+            deltas.computeIfAbsent(event.followerIds()[i], id -> new long[2])[1] += delta;
+        }
+        incrementAll(deltas);
+    }
+
+    /**
+     * Adds the deltas to a randomly chosen stripe of the user's counters, creating it when missing.
+     */
+    public void increment(Long userId, long followersDelta, long followingDelta) {
+        getEntityManager()
+                .createNativeQuery(UPSERT)
+                .setParameter(1, userId)
+                .setParameter(2, ThreadLocalRandom.current().nextInt(shards))
+                .setParameter(3, followersDelta)
+                .setParameter(4, followingDelta)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(UserCounter.class)
+                .executeUpdate();
+    }
+
+    /**
+     * Same as {@link #increment} for many users, sent as one JDBC batch.
+     * Values are {@code {followersDelta, followingDelta}} per user id.
+     */
+    public void incrementAll(Map<Long, long[]> deltas) {
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(JDBC_UPSERT)) {
+                for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+                    long[] delta = entry.getValue();
+                    statement.setLong(1, entry.getKey());
+                    statement.setInt(2, ThreadLocalRandom.current().nextInt(shards));
+                    statement.setLong(3, delta[0]);
+                    statement.setLong(4, delta[1]);
+                    statement.setLong(5, delta[0]);
+                    statement.setLong(6, delta[1]);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    public UserStats findStats(Long userId) {
+        return getEntityManager()
+                .createQuery("select new quarkus.social.domain.model.UserStats("
+                        + "coalesce(sum(c.followersCount), 0L), coalesce(sum(c.followingCount), 0L)) "
+                        + "from UserCounter c where c.userId = :userId", UserStats.class)
+                .setParameter("userId", userId)
+                .getSingleResult();
+    }
+
+    public void deleteByUser(Long userId) {
+        delete("userId", userId);
+    }
+}
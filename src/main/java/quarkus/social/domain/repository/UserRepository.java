@@ -3,7 +3,34 @@ package quarkus.social.domain.repository;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import quarkus.social.domain.model.User;
+import quarkus.social.domain.model.UserSummary;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return new HashSet<>(getEntityManager()
+                .createQuery("select u.id from User u where u.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    /**
+     * Id and name of the given users, ordered by id.
+     */
+    public List<UserSummary> findSummaries(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return getEntityManager()
+                .createQuery("select new quarkus.social.domain.model.UserSummary(u.id, u.name) from User u "
+                        + "where u.id in :ids order by u.id", UserSummary.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
 }
@@ -0,0 +1,309 @@
+package quarkus.social.domain.search;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.function.FunctionScoreQuery;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.event.PostCreated;
+import quarkus.social.domain.model.Post;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded Lucene index over post texts, so searching never queries the {@code posts} table.
+ * Each document stores everything a result needs (id, author, text and date).
+ * <p>
+ * Committed {@link PostCreated} events add posts as they are written, by savePost and by the
+ * write-behind writer alike. The index is committed every {@code social.search.commit-every}
+ * posts and at shutdown, and records the highest post id it holds. At startup, posts above that
+ * id are read back from the database, which also builds the index the first time and picks up
+ * posts written without the event (seeding). Documents are keyed by post id, so indexing a post
+ * twice replaces it.
+ * <p>
+ * Results are ranked by BM25 relevance multiplied by a recency boost (see {@link RecencyBoost}),
+ * then by id. The cursor is the (score, id) of the last hit plus the recency reference of the first
+ * page, so later pages are ranked at the same reference even across midnight. Scores depend on the
+ * whole index, so posts indexed between two page requests can shift the page boundary slightly.
+ * <p>
+ * The index belongs to this instance: it only follows the posts this process commits. With several
+ * instances each one misses the posts the others write, also after a restart when their ids fall
+ * below the highest id it holds; only an index rebuilt from the database (empty
+ * {@code social.search.directory}) sees them all, as of its start.
+ */
+@ApplicationScoped
+public class PostIndex {
+    static final String KEY = "key";
+    static final String ID = "id";
+    static final String USER_ID = "userId";
+    static final String TEXT = "text";
+    static final String DATE = "date";
+    private static final String LAST_POST_ID = "lastPostId";
+    // bumped when documents change shape; an index written in another format is rebuilt at startup
+    private static final String FORMAT = "format";
+    private static final String CURRENT_FORMAT = "2";
+    private static final int CATCH_UP_CHUNK = 1000;
+
+    private final EntityManager entityManager;
+    private final boolean enabled;
+    private final Optional<Path> directoryPath;
+    private final int commitEvery;
+    private final long refreshNanos;
+    private final long halfLifeMillis;
+    private final double recencyWeight;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicLong lastPostId = new AtomicLong();
+    private final AtomicInteger uncommitted = new AtomicInteger();
+    private final AtomicLong lastRefresh = new AtomicLong();
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    public record Hit(long id, long userId, String text, Date date, float score) {
+    }
+
+    @Inject
+    public PostIndex(EntityManager entityManager,
+                     @ConfigProperty(name = "social.search.enabled", defaultValue = "true") boolean enabled,
+                     @ConfigProperty(name = "social.search.directory") Optional<Path> directoryPath,
+                     @ConfigProperty(name = "social.search.commit-every", defaultValue = "1000") int commitEvery,
+                     @ConfigProperty(name = "social.search.refresh-millis", defaultValue = "100") long refreshMillis,
+                     @ConfigProperty(name = "social.search.recency-half-life-days", defaultValue = "7") int halfLifeDays,
+                     @ConfigProperty(name = "social.search.recency-weight", defaultValue = "1.0") double recencyWeight) {
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+        this.directoryPath = directoryPath;
+        this.commitEvery = commitEvery;
+        this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(refreshMillis);
+        this.halfLifeMillis = TimeUnit.DAYS.toMillis(halfLifeDays);
+        this.recencyWeight = recencyWeight;
+    }
+
+    @Transactional
+    void onStart(@Observes StartupEvent event) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Directory directory = directoryPath.isPresent()
+                ? FSDirectory.open(directoryPath.get())
+                : new ByteBuffersDirectory();
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        String format = null;
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (LAST_POST_ID.equals(entry.getKey())) {
+                lastPostId.set(Long.parseLong(entry.getValue()));
+            } else if (FORMAT.equals(entry.getKey())) {
+                format = entry.getValue();
+            }
+        }
+        if (!CURRENT_FORMAT.equals(format)) {
+            writer.deleteAll();
+            lastPostId.set(0);
+        }
+
+        long start = System.nanoTime();
+        int caughtUp = catchUp();
+        commit();
+        searcherManager = new SearcherManager(writer, null);
+        ready = true;
+
+        Log.infof("Post index opened: %d documents, %d indexed from the database in %d ms",
+                writer.getDocStats().numDocs, caughtUp, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws IOException {
+        if (writer == null) {
+            return;
+        }
+
+        ready = false;
+        commit();
+        searcherManager.close();
+        writer.close();
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreated event) {
+        if (!ready) {
+            return;
+        }
+
+        Post post = event.post();
+        try {
+            index(post.getId(), post.getUser().getId(), post.getText(), post.getDateTime());
+            if (uncommitted.get() >= commitEvery) {
+                commit();
+            }
+        } catch (IOException e) {
+            // the post is stored; the next startup catches the index up from the database
+            Log.errorf(e, "Could not index post %d", post.getId());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The recency reference a first page is ranked at: the start of today.
+     */
+    public long recencyReference() {
+        return Date.valueOf(LocalDate.now()).getTime();
+    }
+
+    /**
+     * Up to {@code limit} posts of the authors in {@code authorIds} matching {@code query}, best
+     * first, after the hit with {@code afterScore} and {@code afterId} when those are given. Recency
+     * is measured from {@code reference}, which every page of one search must share. The query
+     * uses the simple syntax: all words must match, {@code "..."} for phrases, {@code |} for or,
+     * {@code -} to exclude and a trailing {@code *} for prefixes.
+     */
+    public List<Hit> search(String query, long[] authorIds, long reference, Float afterScore, Long afterId, int limit) {
+        if (authorIds.length == 0) {
+            return List.of();
+        }
+
+        try {
+            maybeRefresh();
+
+            SimpleQueryParser parser = new SimpleQueryParser(analyzer, TEXT);
+            parser.setDefaultOperator(BooleanClause.Occur.MUST);
+            // the author filter does not score, so it is applied before ranking and paging
+            Query matching = new BooleanQuery.Builder()
+                    .add(parser.parse(query), BooleanClause.Occur.MUST)
+                    .add(LongPoint.newSetQuery(USER_ID, authorIds), BooleanClause.Occur.FILTER)
+                    .build();
+            Query ranked = FunctionScoreQuery.boostByValue(matching,
+                    new RecencyBoost(reference, halfLifeMillis, recencyWeight));
+            Sort sort = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG, true));
+            // unique ids make the doc tie-break unnecessary, MAX_VALUE skips the hit itself
+            FieldDoc after = afterId == null
+                    ? null
+                    : new FieldDoc(Integer.MAX_VALUE, afterScore, new Object[]{afterScore, afterId});
+
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopFieldDocs top = searcher.searchAfter(after, ranked, limit, sort, true);
+                StoredFields storedFields = searcher.storedFields();
+
+                List<Hit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    Document document = storedFields.document(scoreDoc.doc);
+                    hits.add(new Hit(
+                            document.getField(ID).numericValue().longValue(),
+                            document.getField(USER_ID).numericValue().longValue(),
+                            document.get(TEXT),
+                            new Date(document.getField(DATE).numericValue().longValue()),
+                            (Float) ((FieldDoc) scoreDoc).fields[0]));
+                }
+
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void index(long id, long userId, String text, Date date) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(KEY, Long.toString(id), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID, id));
+        document.add(new StoredField(ID, id));
+        document.add(new LongPoint(USER_ID, userId));
+        document.add(new StoredField(USER_ID, userId));
+        document.add(new TextField(TEXT, text == null ? "" : text, Field.Store.YES));
+        document.add(new NumericDocValuesField(DATE, date.getTime()));
+        document.add(new StoredField(DATE, date.getTime()));
+
+        writer.updateDocument(new Term(KEY, Long.toString(id)), document);
+        lastPostId.accumulateAndGet(id, Math::max);
+        uncommitted.incrementAndGet();
+    }
+
+    private int catchUp() throws IOException {
+        int indexed = 0;
+        while (true) {
+            List<Object[]> rows = entityManager
+                    .createQuery("select p.id, p.user.id, p.text, p.dateTime from Post p "
+                            + "where p.id > :after order by p.id", Object[].class)
+                    .setParameter("after", lastPostId.get())
+                    .setMaxResults(CATCH_UP_CHUNK)
+                    .getResultList();
+
+            for (Object[] row : rows) {
+                index((Long) row[0], (Long) row[1], (String) row[2], (Date) row[3]);
+            }
+            indexed += rows.size();
+            entityManager.clear();
+
+            if (rows.size() < CATCH_UP_CHUNK) {
+                return indexed;
+            }
+        }
+    }
+
+    private synchronized void commit() throws IOException {
+        if (uncommitted.get() == 0) {
+            return;
+        }
+
+        uncommitted.set(0);
+        writer.setLiveCommitData(Map.of(LAST_POST_ID, Long.toString(lastPostId.get()), FORMAT, CURRENT_FORMAT).entrySet());
+        writer.commit();
+    }
+
+    private void maybeRefresh() throws IOException {
+        long now = System.nanoTime();
+        long last = lastRefresh.get();
+        if (now - last >= refreshNanos && lastRefresh.compareAndSet(last, now)) {
+            searcherManager.maybeRefresh();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package quarkus.social.domain.search;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.search.DoubleValues;
+import org.apache.lucene.search.DoubleValuesSource;
+import org.apache.lucene.search.IndexSearcher;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Multiplier for a post's relevance: {@code 1 + weight * halfLife / (halfLife + age)}, so a post
+ * from today counts {@code 1 + weight} times, one a half-life old {@code 1 + weight / 2} times,
+ * and very old posts tend to plain relevance. Post dates have day precision and {@code now} is
+ * the start of the day a search began, carried in its cursor, so its scores stay stable.
+ */
+final class RecencyBoost extends DoubleValuesSource {
+    private final long now;
+    private final long halfLifeMillis;
+    private final double weight;
+
+    RecencyBoost(long now, long halfLifeMillis, double weight) {
+        this.now = now;
+        this.halfLifeMillis = halfLifeMillis;
+        this.weight = weight;
+    }
+
+    @Override
+    public DoubleValues getValues(LeafReaderContext context, DoubleValues scores) throws IOException {
+        NumericDocValues dates = DocValues.getNumeric(context.reader(), PostIndex.DATE);
+
+        return new DoubleValues() {
+            private double value;
+
+            @Override
+            public double doubleValue() {
+                return value;
+            }
+
+            @Override
+            public boolean advanceExact(int doc) throws IOException {
+                if (!dates.advanceExact(doc)) {
+                    value = 1;
+                    return true;
+                }
+
+                long age = Math.max(0, now - dates.longValue());
+                value = 1 + weight * halfLifeMillis / (double) (halfLifeMillis + age);
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public boolean needsScores() {
+        return false;
+    }
+
+    @Override
+    public DoubleValuesSource rewrite(IndexSearcher searcher) {
+        return this;
+    }
+
+    @Override
+    public boolean isCacheable(LeafReaderContext context) {
+        return DocValues.isCacheable(context, PostIndex.DATE);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RecencyBoost other
+                && now == other.now
+                && halfLifeMillis == other.halfLifeMillis
+                && weight == other.weight;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(now, halfLifeMillis, weight);
+    }
+
+    @Override
+    public String toString() {
+        return "recency(" + PostIndex.DATE + ", halfLife=" + halfLifeMillis + "ms, weight=" + weight + ")";
+    }
+}
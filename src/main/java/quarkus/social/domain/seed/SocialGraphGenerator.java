@@ -0,0 +1,129 @@
+package quarkus.social.domain.seed;
+
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import quarkus.social.domain.model.FollowPair;
+import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.PostRepository;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.rest.dto.SeedRequest;
+import quarkus.social.rest.dto.SeedResponse;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the database with a synthetic social graph through the regular repositories, one
+ * transaction per chunk of users so memory stays flat for millions of rows.
+ * <p>
+ * Follow targets are drawn from a Zipf distribution over the users in creation order, which gives
+ * the power-law follower counts of a real network: a handful of celebrities and a long tail.
+ * Out-degree and posts per user are uniform around the requested mean. Posts are inserted
+ * without {@code PostCreated}, so no timeline fan-out happens while seeding.
+ */
+@ApplicationScoped
+@UnlessBuildProfile("prod")
+public class SocialGraphGenerator {
+    private static final int CHUNK = 1000;
+    private static final Date BIRTH_DATE = Date.valueOf("1990-01-01");
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final FollowerRepository followerRepository;
+
+    @Inject
+    public SocialGraphGenerator(UserRepository userRepository, PostRepository postRepository,
+                                FollowerRepository followerRepository) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.followerRepository = followerRepository;
+    }
+
+    public SeedResponse generate(SeedRequest request) {
+        int users = request.getUsers() == null ? 10_000 : request.getUsers();
+        int followsPerUser = request.getFollowsPerUser() == null ? 20 : request.getFollowsPerUser();
+        int postsPerUser = request.getPostsPerUser() == null ? 10 : request.getPostsPerUser();
+        double exponent = request.getExponent() == null ? 1.1 : request.getExponent();
+        Random random = new Random(request.getRandomSeed() == null ? 42 : request.getRandomSeed());
+        long start = System.currentTimeMillis();
+
+        long[] ids = new long[users];
+        long posts = 0;
+        for (int from = 0; from < users; from += CHUNK) {
+            posts += createUsers(ids, from, Math.min(from + CHUNK, users), postsPerUser, random);
+        }
+
+        long follows = 0;
+        for (int from = 0; from < users; from += CHUNK) {
+            List<FollowPair> edges = new ArrayList<>();
+            for (int i = from; i < Math.min(from + CHUNK, users); i++) {
+                int degree = uniformAround(followsPerUser, random);
+                for (int f = 0; f < degree; f++) {
+                    int followed = zipf(users, exponent, random);
+                    if (followed != i) {
+                        edges.add(new FollowPair(ids[followed], ids[i]));
+                    }
+                }
+            }
+
+            if (!edges.isEmpty()) {
+                follows += QuarkusTransaction.requiringNew().call(() -> followerRepository.followAll(edges)).size();
+            }
+        }
+
+        SeedResponse response = new SeedResponse();
+        response.setUsers((long) users);
+        response.setFollows(follows);
+        response.setPosts(posts);
+        response.setElapsedMillis(System.currentTimeMillis() - start);
+
+        return response;
+    }
+
+    private long createUsers(long[] ids, int from, int to, int postsPerUser, Random random) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            long posts = 0;
+            for (int i = from; i < to; i++) {
+                User user = new User();
+                user.setName("user-" + i);
+                user.setAge(BIRTH_DATE);
+                userRepository.persist(user);
+                ids[i] = user.getId();
+
+                int count = uniformAround(postsPerUser, random);
+                for (int p = 0; p < count; p++) {
+                    Post post = new Post();
+                    post.setText("post " + p + " of user " + i);
+                    post.setUser(user);
+                    postRepository.persist(post);
+                }
+                posts += count;
+            }
+
+            return posts;
+        });
+    }
+
+    private static int uniformAround(int mean, Random random) {
+        return mean == 0 ? 0 : random.nextInt(2 * mean + 1);
+    }
+
+    /**
+     * Rank in {@code [0, n)} with probability proportional to {@code 1 / (rank + 1)^exponent},
+     * by inverting the continuous approximation of the distribution.
+     */
+    static int zipf(int n, double exponent, Random random) {
+        double u = random.nextDouble();
+        double x = exponent == 1.0
+                ? Math.pow(n, u)
+                : Math.pow((Math.pow(n, 1 - exponent) - 1) * u + 1, 1 / (1 - exponent));
+
+        return Math.max(0, Math.min(n - 1, (int) x - 1));
+    }
+}
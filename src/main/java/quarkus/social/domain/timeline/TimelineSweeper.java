@@ -0,0 +1,114 @@
+package quarkus.social.domain.timeline;
+
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.repository.TimelineRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps timelines at {@code social.feed.max-entries}: every {@code social.feed.trim-interval} a
+ * {@code timeline-sweeper} thread reads the owners of the entries added since the previous sweep,
+ * by their increasing ids, and trims those timelines. Reading a feed never writes.
+ * <p>
+ * The first sweep after a start goes over the whole table, so timelines that grew while no
+ * instance was sweeping are trimmed too. Several instances sweeping the same database only
+ * repeat each other's deletes.
+ */
+@ApplicationScoped
+public class TimelineSweeper {
+    private static final int CHUNK = 10_000;
+    private static final int OWNERS_PER_TRIM = 500;
+
+    private final TimelineRepository repository;
+    private final long intervalMillis;
+    private Thread sweeper;
+    private volatile boolean running;
+    private long lastEntryId;
+
+    @Inject
+    public TimelineSweeper(TimelineRepository repository,
+                           @ConfigProperty(name = "social.feed.trim-interval", defaultValue = "10s") Duration interval) {
+        this.repository = repository;
+        this.intervalMillis = interval.toMillis();
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (intervalMillis <= 0) {
+            return;
+        }
+
+        running = true;
+        sweeper = new Thread(this::run, "timeline-sweeper");
+        sweeper.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        if (sweeper == null) {
+            return;
+        }
+
+        running = false;
+        sweeper.interrupt();
+        sweeper.join();
+    }
+
+    /**
+     * Trims the timelines that got entries since the previous sweep and returns the entries deleted.
+     */
+    public synchronized int sweep() {
+        int deleted = 0;
+        while (true) {
+            List<Object[]> rows = QuarkusTransaction.requiringNew()
+                    .call(() -> repository.findOwnersAfter(lastEntryId, CHUNK));
+            if (rows.isEmpty()) {
+                return deleted;
+            }
+
+            Set<Long> owners = new LinkedHashSet<>();
+            for (Object[] row : rows) {
+                owners.add((Long) row[1]);
+            }
+            List<Long> ownerIds = new ArrayList<>(owners);
+            for (int from = 0; from < ownerIds.size(); from += OWNERS_PER_TRIM) {
+                List<Long> chunk = ownerIds.subList(from, Math.min(from + OWNERS_PER_TRIM, ownerIds.size()));
+                deleted += QuarkusTransaction.requiringNew().call(() -> repository.trim(chunk));
+            }
+            lastEntryId = (Long) rows.get(rows.size() - 1)[0];
+
+            if (rows.size() < CHUNK) {
+                return deleted;
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                sweep();
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                Log.errorf(e, "Could not trim timelines, retrying");
+                try {
+                    Thread.sleep(intervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
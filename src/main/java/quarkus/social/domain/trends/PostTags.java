@@ -0,0 +1,65 @@
+package quarkus.social.domain.trends;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The distinct {@code #hashtags} and {@code @mentions} of a post text, lower-cased and without
+ * the sign. A tag starts at a sign that does not follow a letter, digit or underscore (so e-mail
+ * addresses are not mentions) and runs over letters, digits and underscores. Hashtags made only
+ * of digits are ignored, and tags are cut to {@value #MAX_LENGTH} characters.
+ */
+public record PostTags(List<String> hashtags, List<String> mentions) {
+    public static final int MAX_LENGTH = 100;
+    private static final PostTags NONE = new PostTags(List.of(), List.of());
+
+    public static PostTags extract(String text) {
+        if (text == null || (text.indexOf('#') < 0 && text.indexOf('@') < 0)) {
+            return NONE;
+        }
+
+        List<String> hashtags = new ArrayList<>(2);
+        List<String> mentions = new ArrayList<>(2);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char sign = text.charAt(i);
+            if ((sign != '#' && sign != '@') || (i > 0 && isTagPart(text.codePointBefore(i)))) {
+                i++;
+                continue;
+            }
+
+            int start = i + 1;
+            int end = start;
+            boolean letter = false;
+            while (end < length) {
+                int codePoint = text.codePointAt(end);
+                if (!isTagPart(codePoint)) {
+                    break;
+                }
+                letter |= !Character.isDigit(codePoint);
+                end += Character.charCount(codePoint);
+            }
+
+            if (end > start && (sign == '@' || letter)) {
+                String tag = text.substring(start, Math.min(end, start + MAX_LENGTH)).toLowerCase(Locale.ROOT);
+                List<String> target = sign == '#' ? hashtags : mentions;
+                if (!target.contains(tag)) {
+                    target.add(tag);
+                }
+            }
+            i = Math.max(end, start);
+        }
+
+        return hashtags.isEmpty() && mentions.isEmpty() ? NONE : new PostTags(hashtags, mentions);
+    }
+
+    public boolean isEmpty() {
+        return hashtags.isEmpty() && mentions.isEmpty();
+    }
+
+    private static boolean isTagPart(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) || codePoint == '_';
+    }
+}
@@ -0,0 +1,4 @@
+package quarkus.social.domain.trends;
+
+public record Trend(String tag, long count) {
+}
@@ -0,0 +1,101 @@
+package quarkus.social.domain.trends;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding-window counts per key, kept as a ring of time buckets. Each bucket maps keys to a
+ * {@link LongAdder}, so concurrent increments of the same key land on different cells, and a
+ * bucket is replaced wholesale once its slot comes round again. The window slides one bucket
+ * at a time.
+ * <p>
+ * A bucket stops accepting new keys at {@code maxKeysPerBucket}; keys it already holds keep
+ * counting. Under a flood of distinct tags that bounds memory while the heavy hitters, which
+ * show up early in every bucket, are still counted.
+ */
+final class TrendingCounter {
+    private static final Comparator<Trend> WORST_FIRST = Comparator
+            .comparingLong(Trend::count)
+            .thenComparing(Trend::tag, Comparator.reverseOrder());
+
+    private final long bucketMillis;
+    private final int maxKeysPerBucket;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    private record Bucket(long epoch, ConcurrentHashMap<String, LongAdder> counts) {
+    }
+
+    TrendingCounter(long windowMillis, int bucketCount, int maxKeysPerBucket) {
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.maxKeysPerBucket = maxKeysPerBucket;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    /**
+     * Counts {@code key} at {@code atMillis}; times outside the window ending at {@code nowMillis} are ignored.
+     */
+    void increment(String key, long atMillis, long nowMillis) {
+        long epoch = atMillis / bucketMillis;
+        long current = nowMillis / bucketMillis;
+        if (epoch > current || epoch <= current - buckets.length()) {
+            return;
+        }
+
+        int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+        Bucket bucket = buckets.get(slot);
+        while (bucket == null || bucket.epoch() < epoch) {
+            Bucket fresh = new Bucket(epoch, new ConcurrentHashMap<>());
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(slot);
+            }
+        }
+        if (bucket.epoch() != epoch) {
+            return;
+        }
+
+        LongAdder count = bucket.counts().get(key);
+        if (count == null) {
+            if (bucket.counts().size() >= maxKeysPerBucket) {
+                return;
+            }
+            count = bucket.counts().computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * The {@code limit} keys counted most often in the window ending at {@code nowMillis}, most frequent first.
+     */
+    List<Trend> top(int limit, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        Map<String, long[]> totals = new HashMap<>();
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket == null || bucket.epoch() > current || bucket.epoch() <= current - buckets.length()) {
+                continue;
+            }
+            bucket.counts().forEach((key, count) -> totals.computeIfAbsent(key, k -> new long[1])[0] += count.sum());
+        }
+
+        PriorityQueue<Trend> heap = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            heap.add(new Trend(entry.getKey(), entry.getValue()[0]));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Trend> result = new ArrayList<>(heap);
+        result.sort(WORST_FIRST.reversed());
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package quarkus.social.domain.trends;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.event.PostCreated;
+import quarkus.social.domain.id.Snowflake;
+import quarkus.social.domain.repository.PostTagRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Trending hashtags and mentions over the last {@code social.trends.window}, counted in memory
+ * from committed {@link PostCreated} events. At startup the counters are refilled from the tag
+ * rows of the window, found by their time-ordered ids; the {@code posts} table is never scanned.
+ * <p>
+ * The ranking is recomputed at most every {@code social.trends.refresh-millis}, for the largest
+ * page a client can ask for, and shared by all readers until then.
+ */
+@ApplicationScoped
+public class Trends {
+    public static final int MAX_LIMIT = 100;
+    private static final int REPLAY_CHUNK = 10_000;
+
+    private final PostTagRepository tagRepository;
+    private final long windowMillis;
+    private final long refreshMillis;
+    private final TrendingCounter hashtags;
+    private final TrendingCounter mentions;
+    private volatile Snapshot snapshot = new Snapshot(Long.MIN_VALUE, List.of(), List.of());
+
+    public record Snapshot(long computedAt, List<Trend> hashtags, List<Trend> mentions) {
+    }
+
+    @Inject
+    public Trends(PostTagRepository tagRepository,
+                  @ConfigProperty(name = "social.trends.window", defaultValue = "1h") Duration window,
+                  @ConfigProperty(name = "social.trends.buckets", defaultValue = "60") int buckets,
+                  @ConfigProperty(name = "social.trends.max-tags-per-bucket", defaultValue = "100000") int maxTagsPerBucket,
+                  @ConfigProperty(name = "social.trends.refresh-millis", defaultValue = "1000") long refreshMillis) {
+        this.tagRepository = tagRepository;
+        this.windowMillis = window.toMillis();
+        this.refreshMillis = refreshMillis;
+        this.hashtags = new TrendingCounter(windowMillis, buckets, maxTagsPerBucket);
+        this.mentions = new TrendingCounter(windowMillis, buckets, maxTagsPerBucket);
+    }
+
+    @Transactional
+    void onStart(@Observes StartupEvent event) {
+        long start = System.currentTimeMillis();
+        long from = Snowflake.lowestIdAt(start - windowMillis) - 1;
+        int replayed = replay(hashtags, from, tagRepository::findHashtagsAfter)
+                + replay(mentions, from, tagRepository::findMentionsAfter);
+
+        Log.infof("Trends loaded: %d tags of the last %d minutes in %d ms",
+                replayed, windowMillis / 60_000, System.currentTimeMillis() - start);
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreated event) {
+        PostTags tags = PostTags.extract(event.post().getText());
+        long now = System.currentTimeMillis();
+        for (String tag : tags.hashtags()) {
+            hashtags.increment(tag, now, now);
+        }
+        for (String mention : tags.mentions()) {
+            mentions.increment(mention, now, now);
+        }
+    }
+
+    public Snapshot current() {
+        long now = System.currentTimeMillis();
+        Snapshot current = snapshot;
+        if (now - current.computedAt() >= refreshMillis) {
+            current = new Snapshot(now, hashtags.top(MAX_LIMIT, now), mentions.top(MAX_LIMIT, now));
+            snapshot = current;
+        }
+
+        return current;
+    }
+
+    private int replay(TrendingCounter counter, long afterId, BiFunction<Long, Integer, List<Object[]>> chunk) {
+        int replayed = 0;
+        long now = System.currentTimeMillis();
+        while (true) {
+            List<Object[]> rows = chunk.apply(afterId, REPLAY_CHUNK);
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                counter.increment((String) row[1], Snowflake.timestampOf(afterId), now);
+            }
+            replayed += rows.size();
+            tagRepository.getEntityManager().clear();
+
+            if (rows.size() < REPLAY_CHUNK) {
+                return replayed;
+            }
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package quarkus.social.domain.writebehind;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import quarkus.social.domain.event.PostCreated;
+import quarkus.social.domain.id.Snowflake;
+import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.PostRepository;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.rest.dto.PostResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for posts ({@code social.posts.write-behind.enabled}). {@link #accept} assigns the
+ * post its id, appends it to a local journal, waits until the journal is forced to disk and queues
+ * it; the request is answered right after. A single writer thread drains the queue into multi-row
+ * inserts of up to {@code batch-size} posts and fires {@link PostCreated} for the rows it wrote in
+ * the same transaction.
+ * <p>
+ * Appends are serialized by a short lock, but the force is not: one caller forces the channel for
+ * every append made so far while the others wait for it (group commit), so concurrent posts share
+ * one disk sync. The journal is truncated once every appended post has been written. Entries left
+ * over by a crash are replayed at startup; the ids already present in the database are skipped,
+ * so a replay never inserts or fans out a post twice.
+ */
+@ApplicationScoped
+public class PostWriteBehind {
+    private static final String INSERT = "insert into posts (id, post_text, date_time, user_id) values (?, ?, ?, ?)";
+    private static final long RETRY_MILLIS = 1000;
+
+    private final PostRepository postRepository;
+    private final Event<PostCreated> postCreated;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final Path journalPath;
+    private final BlockingQueue<PendingPost> queue;
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private FileChannel journal;
+    // guarded by journalLock: bytes appended, and posts appended but not yet written to the database
+    private long written;
+    private int inFlight;
+    private volatile long forced;
+    private Thread writer;
+    private volatile boolean running;
+
+    record PendingPost(long id, long userId, Date date, String text) {
+    }
+
+    @Inject
+    public PostWriteBehind(PostRepository postRepository, Event<PostCreated> postCreated, MeterRegistry registry,
+                           @ConfigProperty(name = "social.posts.write-behind.enabled", defaultValue = "false") boolean enabled,
+                           @ConfigProperty(name = "social.posts.write-behind.queue-capacity", defaultValue = "10000") int capacity,
+                           @ConfigProperty(name = "social.posts.write-behind.batch-size", defaultValue = "500") int batchSize,
+                           @ConfigProperty(name = "social.posts.write-behind.journal", defaultValue = "data/post-journal.log") Path journalPath) {
+        this.postRepository = postRepository;
+        this.postCreated = postCreated;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.journalPath = journalPath;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("social.posts.write-behind.pending", queue, BlockingQueue::size).register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void onStart(@Observes StartupEvent event) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        open();
+
+        running = true;
+        writer = new Thread(this::drain, "post-writer");
+        writer.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException, IOException {
+        if (writer != null) {
+            running = false;
+            writer.join();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Replays what a previous run left in the journal and opens it for appends.
+     */
+    void open() throws IOException {
+        if (journalPath.getParent() != null) {
+            Files.createDirectories(journalPath.getParent());
+        }
+        List<PendingPost> recovered = recover();
+        journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (!recovered.isEmpty()) {
+            Log.infof("Replaying %d journaled posts", recovered.size());
+            flush(recovered);
+        }
+        journal.truncate(0);
+    }
+
+    /**
+     * Journals and queues a post for {@code userId}, or fails with 429 when {@code queue-capacity}
+     * posts are already waiting to be written.
+     */
+    public PostResponse accept(Long userId, String text) {
+        PendingPost post = new PendingPost(Snowflake.get().nextId(), userId, Date.valueOf(LocalDate.now()), text);
+        String line = post.id() + "," + post.userId() + "," + post.date() + ","
+                + Base64.getEncoder().encodeToString(String.valueOf(post.text()).getBytes(StandardCharsets.UTF_8)) + "\n";
+
+        long end;
+        journalLock.lock();
+        try {
+            if (inFlight >= capacity) {
+                throw new MyException(ErrorMessages.POSTS_BACKLOG_FULL.toString(), Response.Status.TOO_MANY_REQUESTS);
+            }
+
+            end = append(line.getBytes(StandardCharsets.UTF_8));
+            inFlight++;
+        } finally {
+            journalLock.unlock();
+        }
+
+        try {
+            forceTo(end);
+        } catch (RuntimeException e) {
+            written(1);
+            throw e;
+        }
+        queue.add(post);
+
+        return new PostResponse(post.id(), post.userId(), post.text(), post.date());
+    }
+
+    /**
+     * Appends {@code bytes} at the end of the journal and returns the new end.
+     */
+    private long append(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                written += journal.write(buffer, written);
+            }
+
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns once the journal is on disk up to {@code end}. Whoever gets the lock forces every
+     * append made so far, so the callers queued behind it usually find their bytes already forced.
+     */
+    private void forceTo(long end) {
+        if (forced >= end) {
+            return;
+        }
+
+        forceLock.lock();
+        try {
+            if (forced >= end) {
+                return;
+            }
+
+            long target;
+            journalLock.lock();
+            try {
+                target = written;
+            } finally {
+                journalLock.unlock();
+            }
+            journal.force(false);
+            forced = target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    private List<PendingPost> recover() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return List.of();
+        }
+
+        List<PendingPost> posts = new ArrayList<>();
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(",", 4);
+            if (fields.length < 4) {
+                continue; // torn last line: the post was never acknowledged
+            }
+            posts.add(new PendingPost(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Date.valueOf(fields[2]),
+                    new String(Base64.getDecoder().decode(fields[3]), StandardCharsets.UTF_8)));
+        }
+
+        if (posts.isEmpty()) {
+            return posts;
+        }
+
+        Set<Long> stored = QuarkusTransaction.requiringNew().call(() -> findStoredIds(posts));
+
+        return posts.stream().filter(post -> !stored.contains(post.id())).toList();
+    }
+
+    private Set<Long> findStoredIds(List<PendingPost> posts) {
+        return new HashSet<>(postRepository.getEntityManager()
+                .createQuery("select p.id from Post p where p.id in :ids", Long.class)
+                .setParameter("ids", posts.stream().map(PendingPost::id).toList())
+                .getResultList());
+    }
+
+    private void drain() {
+        List<PendingPost> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    PendingPost first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+
+                flush(batch);
+                written(batch.size());
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    Log.errorf(e, "Could not write %d posts on shutdown, they stay in the journal", batch.size() + queue.size());
+                    return;
+                }
+                // the database is unreachable: keep the batch and try again
+                Log.errorf(e, "Could not write %d posts, retrying", batch.size());
+                sleep();
+            }
+        }
+    }
+
+    private void flush(List<PendingPost> batch) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> insert(batch));
+        } catch (RuntimeException e) {
+            if (!isConstraintViolation(e)) {
+                throw e;
+            }
+
+            // a user deleted since the post was accepted fails the whole batch: isolate that post
+            for (PendingPost post : batch) {
+                try {
+                    QuarkusTransaction.requiringNew().run(() -> insert(List.of(post)));
+                } catch (RuntimeException single) {
+                    if (!isConstraintViolation(single)) {
+                        throw single;
+                    }
+                    Log.warnf("Dropping post %d of user %d: %s", post.id(), post.userId(), single.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the posts of {@code batch} that are not stored yet and fires their events. A batch
+     * retried after a commit whose outcome never reached us may already be partly stored.
+     */
+    private void insert(List<PendingPost> batch) {
+        Set<Long> stored = findStoredIds(batch);
+        List<PendingPost> missing = batch.stream().filter(post -> !stored.contains(post.id())).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Session session = postRepository.getEntityManager().unwrap(Session.class);
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (PendingPost post : missing) {
+                    statement.setLong(1, post.id());
+                    statement.setString(2, post.text());
+                    statement.setDate(3, post.date());
+                    statement.setLong(4, post.userId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+
+        for (PendingPost pending : missing) {
+            Post post = new Post();
+            post.setId(pending.id());
+            post.setText(pending.text());
+            post.setDateTime(pending.date());
+            post.setUser(session.getReference(User.class, pending.userId()));
+            postCreated.fire(new PostCreated(post));
+        }
+    }
+
+    /**
+     * Marks {@code count} posts as no longer pending and truncates the journal once none is; with
+     * nothing in flight nobody waits on a force, so the positions can start over.
+     */
+    private void written(int count) {
+        journalLock.lock();
+        try {
+            inFlight -= count;
+            if (inFlight == 0) {
+                journal.truncate(0);
+                written = 0;
+                forced = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
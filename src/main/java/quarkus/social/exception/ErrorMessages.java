@@ -4,7 +4,13 @@ public enum ErrorMessages {
     USER_NOT_FOUND("User not found"),
     HEADER_ERROR("You forgot the header followerId"),
     FORBIDDEN("Permission denied"),
-    CONFLICT("users with same id");
+    CONFLICT("users with same id"),
+    INVALID_CURSOR("Invalid cursor"),
+    SERVICE_BUSY("Too many concurrent requests, try again later"),
+    BULK_TOO_LARGE("Too many edges in one bulk request"),
+    POSTS_BACKLOG_FULL("Too many pending posts, try again later"),
+    SEARCH_QUERY_REQUIRED("You forgot the query parameter q"),
+    SEARCH_UNAVAILABLE("Post search is not available");
 
     private final String string;
 
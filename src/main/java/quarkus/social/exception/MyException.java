@@ -3,24 +3,27 @@ package quarkus.social.exception;
 import jakarta.ws.rs.core.Response;
 import lombok.Getter;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Thrown for expected client errors, so no stack trace is captured; the response body of each
+ * distinct message is built once and shared.
+ */
 public class MyException extends RuntimeException{
+    private static final Map<String, Map<String, String>> BODIES = new ConcurrentHashMap<>();
+
     @Getter
     private final Response.Status status;
     private final String message;
 
     public MyException(String message, Response.Status status) {
-        super(message);
+        super(message, null, false, false);
         this.message = message;
         this.status = status;
     }
 
     public Map<String, String> getObjMessage() {
-        HashMap<String, String> objMessage = new HashMap<>();
-        objMessage.put("message", this.message);
-
-        return objMessage;
+        return BODIES.computeIfAbsent(message, text -> Map.of("message", text));
     }
 }
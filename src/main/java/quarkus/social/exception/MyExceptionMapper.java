@@ -1,5 +1,6 @@
 package quarkus.social.exception;
 
+import io.micrometer.core.instrument.Metrics;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
@@ -9,6 +10,8 @@ import jakarta.ws.rs.ext.Provider;
 public class MyExceptionMapper implements ExceptionMapper<MyException> {
     @Override
     public Response toResponse(MyException myException) {
+        Metrics.counter("social.errors", "status", String.valueOf(myException.getStatus().getStatusCode())).increment();
+
         return Response.status(myException.getStatus())
                 .entity(myException.getObjMessage())
                 .type(MediaType.APPLICATION_JSON)
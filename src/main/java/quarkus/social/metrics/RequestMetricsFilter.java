@@ -0,0 +1,95 @@
+package quarkus.social.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@code social.request.statements} and {@code social.request.db.time} per resource method,
+ * tagged like the {@code social.endpoint} timers.
+ * <p>
+ * With {@code social.query-guard.enabled} (dev and test) the usage is also returned in the
+ * {@value #STATEMENTS_HEADER} and {@value #DB_TIME_HEADER} headers, so tests can assert statement
+ * budgets, and requests over {@code social.query-guard.max-statements} or
+ * {@code social.query-guard.slow-threshold} are logged.
+ */
+@Provider
+public class RequestMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    public static final String STATEMENTS_HEADER = "X-Statement-Count";
+    public static final String DB_TIME_HEADER = "X-DB-Time-Ms";
+
+    private final MeterRegistry registry;
+    private final boolean guardEnabled;
+    private final int maxStatements;
+    private final Duration slowThreshold;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    public RequestMetricsFilter(MeterRegistry registry,
+                                @ConfigProperty(name = "social.query-guard.enabled", defaultValue = "false") boolean guardEnabled,
+                                @ConfigProperty(name = "social.query-guard.max-statements", defaultValue = "10") int maxStatements,
+                                @ConfigProperty(name = "social.query-guard.slow-threshold", defaultValue = "200ms") Duration slowThreshold) {
+        this.registry = registry;
+        this.guardEnabled = guardEnabled;
+        this.maxStatements = maxStatements;
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        RequestStatements.begin();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        RequestStatements.Usage usage = RequestStatements.end();
+        if (usage == null || resourceInfo.getResourceMethod() == null) {
+            return;
+        }
+
+        String resourceClass = resourceInfo.getResourceClass().getName();
+        String method = resourceInfo.getResourceMethod().getName();
+
+        DistributionSummary.builder("social.request.statements")
+                .tag("class", resourceClass)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(usage.statements());
+        Timer.builder("social.request.db.time")
+                .tag("class", resourceClass)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(usage.nanos(), TimeUnit.NANOSECONDS);
+
+        if (!guardEnabled) {
+            return;
+        }
+
+        response.getHeaders().putSingle(STATEMENTS_HEADER, usage.statements());
+        response.getHeaders().putSingle(DB_TIME_HEADER, usage.millis());
+
+        if (usage.statements() > maxStatements || usage.nanos() > slowThreshold.toNanos()) {
+            Log.warnf("%s %s (%s.%s) issued %d statements taking %d ms",
+                    request.getMethod(), request.getUriInfo().getPath(),
+                    resourceInfo.getResourceClass().getSimpleName(), method,
+                    usage.statements(), usage.millis());
+        }
+    }
+}
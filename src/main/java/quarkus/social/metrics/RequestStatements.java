@@ -0,0 +1,47 @@
+package quarkus.social.metrics;
+
+/**
+ * SQL statements issued, and the time spent executing them, by the HTTP request running on the
+ * current thread. Blocking endpoints keep a request on one thread from the request filter to the
+ * response filter.
+ */
+public final class RequestStatements {
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private RequestStatements() {
+    }
+
+    public record Usage(int statements, long nanos) {
+        public long millis() {
+            return nanos / 1_000_000;
+        }
+    }
+
+    static void begin() {
+        CURRENT.set(new long[2]);
+    }
+
+    static void increment() {
+        long[] current = CURRENT.get();
+        if (current != null) {
+            current[0]++;
+        }
+    }
+
+    static void addTime(long nanos) {
+        long[] current = CURRENT.get();
+        if (current != null) {
+            current[1] += nanos;
+        }
+    }
+
+    /**
+     * Usage since {@link #begin()}, or null when the thread is not serving a request.
+     */
+    static Usage end() {
+        long[] current = CURRENT.get();
+        CURRENT.remove();
+
+        return current == null ? null : new Usage((int) current[0], current[1]);
+    }
+}
@@ -0,0 +1,119 @@
+package quarkus.social.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver in front of the real one ({@code quarkus.datasource.jdbc.driver}) that adds every
+ * statement execution, and the time it took, to {@link RequestStatements}. Counting below the pool
+ * also sees the statements Hibernate does not prepare itself, such as the JDBC batches run through
+ * {@code Session.doWork}; a batch is one round trip and counts once.
+ * <p>
+ * Every JDBC call goes through a reflective proxy, so it is only configured in dev and test;
+ * production counts with {@link StatementCountingListener}.
+ */
+public class StatementCountingDriver implements Driver {
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        Connection connection = DriverManager.getDriver(url).connect(url, info);
+
+        return connection == null ? null : wrap(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public boolean acceptsURL(String url) throws SQLException {
+        try {
+            return DriverManager.getDriver(url) != null;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+        return DriverManager.getDriver(url).getPropertyInfo(url, info);
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private static <T> T wrap(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDriver.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Calls {@code method} on {@code target}, except identity: Hibernate keeps statements in hash
+     * maps, and a proxy must equal itself rather than the object it wraps.
+     */
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection connection) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDriver.invoke(proxy, connection, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return wrap(method.getReturnType(), new StatementHandler(statement));
+            }
+
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement statement) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return StatementCountingDriver.invoke(proxy, statement, method, args);
+            }
+
+            RequestStatements.increment();
+            long start = System.nanoTime();
+            try {
+                return StatementCountingDriver.invoke(proxy, statement, method, args);
+            } finally {
+                RequestStatements.addTime(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package quarkus.social.metrics;
+
+import org.hibernate.engine.spi.BaseSessionEventListener;
+
+/**
+ * Production source of {@link RequestStatements}: counts and times every statement and batch
+ * Hibernate executes, without wrapping the JDBC objects the way {@link StatementCountingDriver}
+ * does in dev and test. JDBC run directly through {@code Session.doWork} is not seen. Hibernate
+ * creates one instance per session ({@code hibernate.session.events.auto}), and a session is used
+ * by one thread at a time.
+ */
+public class StatementCountingListener extends BaseSessionEventListener {
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestStatements.increment();
+        RequestStatements.addTime(System.nanoTime() - start);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestStatements.increment();
+        RequestStatements.addTime(System.nanoTime() - start);
+    }
+}
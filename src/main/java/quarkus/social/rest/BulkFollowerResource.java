@@ -0,0 +1,118 @@
+package quarkus.social.rest;
+
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.model.FollowPair;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.exception.MyExceptionMapper;
+import quarkus.social.rest.admission.DatabaseAdmission;
+import quarkus.social.rest.dto.BulkFollowRequest;
+import quarkus.social.rest.dto.BulkFollowResponse;
+import quarkus.social.rest.dto.FollowEdge;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Path("/followers/bulk")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@DatabaseAdmission
+public class BulkFollowerResource {
+    private final FollowerRepository repository;
+    private final UserRepository userRepository;
+    private final int maxEdges;
+
+    @Inject
+    public BulkFollowerResource(FollowerRepository repository, UserRepository userRepository,
+                                @ConfigProperty(name = "social.bulk.max-edges", defaultValue = "10000") int maxEdges) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.maxEdges = maxEdges;
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @PUT
+    @RunOnVirtualThread
+    @Transactional
+    public Response followAll(BulkFollowRequest request) {
+        try {
+            List<FollowPair> edges = validEdges(request);
+            assertUsersExist(edges);
+
+            Set<FollowPair> existing = edges.isEmpty() ? Set.of() : repository.findExistingEdges(edges);
+            List<FollowPair> missing = edges.stream()
+                    .filter(edge -> !existing.contains(edge))
+                    .toList();
+            List<FollowPair> created = missing.isEmpty() ? List.of() : repository.followAll(missing);
+
+            return Response.ok(new BulkFollowResponse(requested(request), created.size())).build();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @DELETE
+    @RunOnVirtualThread
+    @Transactional
+    public Response unfollowAll(BulkFollowRequest request) {
+        try {
+            List<FollowPair> edges = validEdges(request);
+            List<FollowPair> deleted = edges.isEmpty() ? List.of() : repository.unfollowAll(edges);
+
+            return Response.ok(new BulkFollowResponse(requested(request), deleted.size())).build();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+    }
+
+    /**
+     * De-duplicated edges without nulls and self-follows, in request order.
+     */
+    private List<FollowPair> validEdges(BulkFollowRequest request) throws MyException {
+        if (requested(request) > maxEdges) {
+            throw new MyException(ErrorMessages.BULK_TOO_LARGE.toString(), Response.Status.REQUEST_ENTITY_TOO_LARGE);
+        }
+        if (request == null || request.getEdges() == null) {
+            return List.of();
+        }
+
+        Set<FollowPair> edges = new LinkedHashSet<>();
+        for (FollowEdge edge : request.getEdges()) {
+            if (edge != null && edge.getUserId() != null && edge.getFollowerId() != null
+                    && !edge.getUserId().equals(edge.getFollowerId())) {
+                edges.add(edge.toPair());
+            }
+        }
+
+        return new ArrayList<>(edges);
+    }
+
+    private void assertUsersExist(List<FollowPair> edges) throws MyException {
+        Set<Long> ids = new HashSet<>();
+        edges.forEach(edge -> {
+            ids.add(edge.userId());
+            ids.add(edge.followerId());
+        });
+
+        if (!ids.isEmpty() && !userRepository.findExistingIds(ids).containsAll(ids)) {
+            throw new MyException(ErrorMessages.USER_NOT_FOUND.toString(), Response.Status.NOT_FOUND);
+        }
+    }
+
+    private static int requested(BulkFollowRequest request) {
+        return request == null || request.getEdges() == null ? 0 : request.getEdges().size();
+    }
+}
@@ -0,0 +1,33 @@
+package quarkus.social.rest;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.hibernate.SessionFactory;
+import quarkus.social.domain.model.User;
+import quarkus.social.rest.dto.CacheStatsResponse;
+
+@Path("/cache/stats")
+@Produces(MediaType.APPLICATION_JSON)
+public class CacheStatsResource {
+    private static final String USER_REGION = User.class.getName();
+
+    private final SessionFactory sessionFactory;
+
+    @Inject
+    public CacheStatsResource(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @GET
+    @Path("users")
+    public Response userCacheStats() {
+        CacheStatsResponse response = CacheStatsResponse.fromStatistics(USER_REGION,
+                sessionFactory.getStatistics().getDomainDataRegionStatistics(USER_REGION));
+
+        return Response.ok(response).build();
+    }
+}
@@ -0,0 +1,31 @@
+package quarkus.social.rest;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import quarkus.social.rest.sse.ChangeBroadcaster;
+
+/**
+ * Server-sent stream of the outbox change events, for consumers that keep their own views
+ * of users, posts and follows. Requires {@code sse} in {@code social.outbox.sinks}.
+ */
+@Path("/changes")
+public class ChangeStreamResource {
+    private final ChangeBroadcaster broadcaster;
+
+    @Inject
+    public ChangeStreamResource(ChangeBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void stream(@Context SseEventSink eventSink, @Context Sse sse) {
+        broadcaster.register(eventSink, sse);
+    }
+}
@@ -0,0 +1,170 @@
+package quarkus.social.rest;
+
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import quarkus.social.domain.model.User;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.exception.MyExceptionMapper;
+import quarkus.social.rest.admission.AdmissionControl;
+import quarkus.social.rest.dto.FollowEdge;
+import quarkus.social.rest.dto.PostResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Newline-delimited JSON dumps of whole tables. Rows are read through a forward-only stream
+ * and written as they arrive, so memory stays flat whatever the table size and a slow
+ * client simply blocks the writer.
+ * <p>
+ * The stream keeps one pooled connection for as long as it runs, so it holds an admission permit
+ * until the last row is written, and at most {@code social.export.max-concurrent} exports run at
+ * once; further ones get a 503 instead of draining the pool.
+ * <p>
+ * On MySQL the statement's fetch size is {@link Integer#MIN_VALUE}, which makes Connector/J stream
+ * the rows of this one statement instead of buffering the whole result; the other statements of the
+ * pool keep client-side prepared statements and buffered results. A streaming connection runs no
+ * other statement until the result is drained, and the export issues none.
+ */
+@Path("/export")
+@Produces(ExportResource.NDJSON)
+public class ExportResource {
+    public static final String NDJSON = "application/x-ndjson";
+    private static final int FETCH_SIZE = 1000;
+    private static final int MYSQL_STREAMING = Integer.MIN_VALUE;
+
+    private final EntityManager entityManager;
+    private final AdmissionControl admissionControl;
+    private final int transactionTimeout;
+    private final Semaphore exports;
+    private final int fetchSize;
+    private final Jsonb jsonb = JsonbBuilder.create();
+
+    @Inject
+    public ExportResource(EntityManager entityManager, AdmissionControl admissionControl,
+                          @ConfigProperty(name = "social.export.transaction-timeout", defaultValue = "3600") int transactionTimeout,
+                          @ConfigProperty(name = "social.export.max-concurrent", defaultValue = "2") int maxConcurrent,
+                          @ConfigProperty(name = "quarkus.datasource.db-kind") String dbKind) {
+        this.entityManager = entityManager;
+        this.admissionControl = admissionControl;
+        this.transactionTimeout = transactionTimeout;
+        this.exports = new Semaphore(maxConcurrent);
+        this.fetchSize = "mysql".equals(dbKind) ? MYSQL_STREAMING : FETCH_SIZE;
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    @Path("users")
+    public Response exportUsers() {
+        return stream("select u from User u order by u.id", User.class);
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    @Path("posts")
+    public Response exportPosts() {
+        return stream("select new quarkus.social.rest.dto.PostResponse(p.id, p.user.id, p.text, p.dateTime) "
+                + "from Post p order by p.id", PostResponse.class);
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    @Path("followers")
+    public Response exportFollowers() {
+        return stream("select new quarkus.social.rest.dto.FollowEdge(f.user.id, f.follower.id) "
+                + "from Follower f order by f.id", FollowEdge.class);
+    }
+
+    private <T> Response stream(String query, Class<T> type) {
+        try {
+            admit();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+
+        StreamingOutput output = out -> {
+            try {
+                QuarkusTransaction.requiringNew()
+                        .timeout(transactionTimeout)
+                        .run(() -> {
+                            try {
+                                write(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), query, type);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } finally {
+                admissionControl.release();
+                exports.release();
+            }
+        };
+
+        return Response.ok(output, NDJSON).build();
+    }
+
+    private void admit() {
+        if (!exports.tryAcquire()) {
+            throw new MyException(ErrorMessages.SERVICE_BUSY.toString(), Response.Status.SERVICE_UNAVAILABLE);
+        }
+
+        boolean admitted = false;
+        try {
+            admitted = admissionControl.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!admitted) {
+            exports.release();
+            throw new MyException(ErrorMessages.SERVICE_BUSY.toString(), Response.Status.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private <T> void write(Writer writer, String query, Class<T> type) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+
+        try (Stream<T> rows = session.createSelectionQuery(query, type)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .getResultStream()) {
+            Iterator<T> iterator = rows.iterator();
+            int written = 0;
+
+            while (iterator.hasNext()) {
+                writer.write(jsonb.toJson(iterator.next()));
+                writer.write('\n');
+
+                if (++written % FETCH_SIZE == 0) {
+                    session.clear();
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+    }
+}
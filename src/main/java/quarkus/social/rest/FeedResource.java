@@ -0,0 +1,97 @@
+package quarkus.social.rest;
+
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.TimelineEntry;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.PostRepository;
+import quarkus.social.domain.repository.TimelineRepository;
+import quarkus.social.exception.MyException;
+import quarkus.social.exception.MyExceptionMapper;
+import quarkus.social.rest.admission.DatabaseAdmission;
+import quarkus.social.rest.dto.PostsPageResponse;
+import quarkus.social.rest.pagination.Cursor;
+
+import java.sql.Date;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Path("/users/{followerId}/feed")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@DatabaseAdmission
+public class FeedResource {
+    private static final Comparator<Post> NEWEST_FIRST = Comparator
+            .comparing(Post::getDateTime)
+            .thenComparing(Post::getId)
+            .reversed();
+
+    private final UserResource userResource;
+    private final TimelineRepository timelineRepository;
+    private final PostRepository postRepository;
+    private final FollowerRepository followerRepository;
+
+    @Inject
+    public FeedResource(UserResource userResource, TimelineRepository timelineRepository,
+                        PostRepository postRepository, FollowerRepository followerRepository) {
+        this.userResource = userResource;
+        this.timelineRepository = timelineRepository;
+        this.postRepository = postRepository;
+        this.followerRepository = followerRepository;
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    public Response feed(@PathParam("followerId") Long followerId,
+                         @QueryParam("cursor") String cursor,
+                         @QueryParam("limit") Integer limit) {
+        try {
+            userResource.findUserById(followerId);
+
+            Date afterDate = null;
+            Long afterId = null;
+            if (cursor != null) {
+                long[] keys = Cursor.decode(cursor, 2);
+                afterDate = new Date(keys[0]);
+                afterId = keys[1];
+            }
+
+            int pageSize = Cursor.limit(limit);
+
+            Map<Long, Post> candidates = new LinkedHashMap<>();
+
+            List<Long> pushedIds = timelineRepository.findPage(followerId, afterDate, afterId, pageSize + 1)
+                    .stream()
+                    .map(TimelineEntry::getPostId)
+                    .toList();
+            if (!pushedIds.isEmpty()) {
+                postRepository.findByIds(pushedIds).forEach(post -> candidates.put(post.getId(), post));
+            }
+
+            List<Long> pulledAuthors = followerRepository
+                    .findFollowedWithMoreFollowersThan(followerId, timelineRepository.getFanOutMaxFollowers());
+            if (!pulledAuthors.isEmpty()) {
+                postRepository.findPageByUsers(pulledAuthors, afterDate, afterId, pageSize + 1)
+                        .forEach(post -> candidates.putIfAbsent(post.getId(), post));
+            }
+
+            List<Post> page = candidates.values()
+                    .stream()
+                    .sorted(NEWEST_FIRST)
+                    .limit(pageSize + 1L)
+                    .toList();
+
+            return Response.ok(PostsPageResponse.fromPage(page, pageSize)).build();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package quarkus.social.rest;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import quarkus.social.rest.sse.FeedStreamHub;
+
+/**
+ * Server-sent stream of the posts of the authors {@code followerId} follows, pushed as they are
+ * committed: one {@code post} event per post with a {@link quarkus.social.rest.dto.PostResponse}
+ * as data, and {@code :ping} comments in between. The request thread returns as soon as the
+ * stream is registered, so open streams hold no thread; they are not behind
+ * {@code @DatabaseAdmission} either, since only opening one reads the database.
+ */
+@Path("/users/{followerId}/feed/stream")
+public class FeedStreamResource {
+    private final UserResource userResource;
+    private final FeedStreamHub hub;
+
+    @Inject
+    public FeedStreamResource(UserResource userResource, FeedStreamHub hub) {
+        this.userResource = userResource;
+        this.hub = hub;
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void stream(@PathParam("followerId") Long followerId, @Context SseEventSink eventSink, @Context Sse sse) {
+        userResource.findUserById(followerId);
+
+        hub.subscribe(followerId, eventSink, sse);
+    }
+}
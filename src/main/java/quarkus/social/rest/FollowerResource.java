@@ -1,36 +1,68 @@
 package quarkus.social.rest;
 
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import quarkus.social.domain.model.Follower;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.graph.Suggestion;
 import quarkus.social.domain.model.User;
+import quarkus.social.domain.model.UserSummary;
 import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.ReplicaReadRepository;
+import quarkus.social.domain.repository.UserCounterRepository;
+import quarkus.social.domain.repository.UserRepository;
 import quarkus.social.exception.ErrorMessages;
 import quarkus.social.exception.MyException;
 import quarkus.social.exception.MyExceptionMapper;
+import quarkus.social.rest.admission.DatabaseAdmission;
 import quarkus.social.rest.dto.FollowerRequest;
 import quarkus.social.rest.dto.FollowerResponse;
 import quarkus.social.rest.dto.FollowersPerUserResponse;
+import quarkus.social.rest.dto.MutualFollowResponse;
+import quarkus.social.rest.dto.SuggestionResponse;
+import quarkus.social.rest.pagination.Cursor;
+import quarkus.social.rest.replica.ReadRouting;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Path("/users/{userId}/followers")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
+@DatabaseAdmission
 public class FollowerResource {
     private final FollowerRepository repository;
     private final UserResource userResource;
+    private final UserCounterRepository counterRepository;
+    private final UserRepository userRepository;
+    private final int suggestionsMaxScan;
+    private final ReplicaReadRepository replicaRepository;
+    private final ReadRouting readRouting;
 
     @Inject
-    public FollowerResource(FollowerRepository repository, UserResource userResource) {
+    public FollowerResource(FollowerRepository repository, UserResource userResource,
+                            UserCounterRepository counterRepository, UserRepository userRepository,
+                            @ConfigProperty(name = "social.suggestions.max-scan", defaultValue = "100000") int suggestionsMaxScan,
+                            ReplicaReadRepository replicaRepository, ReadRouting readRouting) {
         this.repository = repository;
         this.userResource = userResource;
+        this.counterRepository = counterRepository;
+        this.userRepository = userRepository;
+        this.suggestionsMaxScan = suggestionsMaxScan;
+        this.replicaRepository = replicaRepository;
+        this.readRouting = readRouting;
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @PUT
+    @RunOnVirtualThread
     @Transactional
     public Response followUser(@PathParam("userId") Long userId, FollowerRequest request) {
         try {
@@ -41,17 +73,7 @@ public class FollowerResource {
                 throw new MyException(ErrorMessages.CONFLICT.toString(), Response.Status.CONFLICT);
             }
 
-            Boolean follows = repository.follows(follower, user);
-
-            if (follows) {
-                return Response.status(Response.Status.NO_CONTENT).build();
-            }
-
-            Follower entityFollower = new Follower();
-            entityFollower.setUser(user);
-            entityFollower.setFollower(follower);
-
-            repository.persist(entityFollower);
+            repository.follow(user, follower);
 
             return Response.status(Response.Status.NO_CONTENT).build();
         } catch (MyException e) {
@@ -59,20 +81,34 @@ public class FollowerResource {
         }
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @GET
-    public Response listFollowers(@PathParam("userId") Long userId) {
+    @RunOnVirtualThread
+    public Response listFollowers(@PathParam("userId") Long userId,
+                                  @QueryParam("cursor") String cursor,
+                                  @QueryParam("limit") Integer limit) {
         try {
             userResource.findUserById(userId);
 
-            List<Follower> followerByUser = repository.findByUser(userId);
+            Long afterFollowerId = cursor == null ? null : Cursor.decode(cursor, 1)[0];
+            int pageSize = Cursor.limit(limit);
+
+            List<UserSummary> followersList;
             FollowersPerUserResponse followersPerUserResponse = new FollowersPerUserResponse();
-            followersPerUserResponse.setFollowersCount(followerByUser.size());
+            if (readRouting.useReplica()) {
+                followersList = replicaRepository.findFollowerPage(userId, afterFollowerId, pageSize + 1);
+                followersPerUserResponse.setFollowersCount(replicaRepository.countFollowers(userId));
+            } else {
+                followersList = repository.findPageByUser(userId, afterFollowerId, pageSize + 1);
+                followersPerUserResponse.setFollowersCount(counterRepository.findStats(userId).followersCount());
+            }
 
-            List<FollowerResponse> followersList = followerByUser.stream()
-                    .map(FollowerResponse::new)
-                    .toList();
+            if (followersList.size() > pageSize) {
+                followersList = followersList.subList(0, pageSize);
+                followersPerUserResponse.setNextCursor(Cursor.encode(followersList.get(pageSize - 1).id()));
+            }
 
-            followersPerUserResponse.setContent(followersList);
+            followersPerUserResponse.setContent(followersList.stream().map(FollowerResponse::new).toList());
 
             return Response.ok(followersPerUserResponse).build();
         } catch (MyException e) {
@@ -80,7 +116,9 @@ public class FollowerResource {
         }
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @DELETE
+    @RunOnVirtualThread
     @Transactional
     public Response unfollowUser(@PathParam("userId") Long userId, @QueryParam("followerId") Long followerId) {
         try {
@@ -93,4 +131,82 @@ public class FollowerResource {
             return new MyExceptionMapper().toResponse(e);
         }
     }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    @Path("mutual/{otherId}")
+    public Response mutualFollow(@PathParam("userId") Long userId, @PathParam("otherId") Long otherId) {
+        try {
+            User user = userResource.findUserById(userId);
+            User other = userResource.findUserById(otherId);
+
+            return Response.ok(new MutualFollowResponse(
+                    repository.follows(user, other), repository.follows(other, user))).build();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    @Path("common/{otherId}")
+    public Response commonFollowers(@PathParam("userId") Long userId,
+                                    @PathParam("otherId") Long otherId,
+                                    @QueryParam("cursor") String cursor,
+                                    @QueryParam("limit") Integer limit) {
+        try {
+            userResource.findUserById(userId);
+            userResource.findUserById(otherId);
+
+            long[] common = repository.findCommonFollowerIds(userId, otherId);
+            int pageSize = Cursor.limit(limit);
+            int from = 0;
+            if (cursor != null) {
+                int index = Arrays.binarySearch(common, Cursor.decode(cursor, 1)[0]);
+                from = index >= 0 ? index + 1 : -index - 1;
+            }
+            int to = Math.min(from + pageSize, common.length);
+
+            List<Long> pageIds = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                pageIds.add(common[i]);
+            }
+
+            FollowersPerUserResponse response = new FollowersPerUserResponse();
+            response.setFollowersCount((long) common.length);
+            response.setContent(userRepository.findSummaries(pageIds).stream().map(FollowerResponse::new).toList());
+            if (to < common.length) {
+                response.setNextCursor(Cursor.encode(common[to - 1]));
+            }
+
+            return Response.ok(response).build();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    @Path("suggestions")
+    public Response suggestions(@PathParam("userId") Long userId, @QueryParam("limit") Integer limit) {
+        try {
+            userResource.findUserById(userId);
+
+            List<Suggestion> suggestions = repository.findSuggestions(userId, Cursor.limit(limit), suggestionsMaxScan);
+            Map<Long, String> names = userRepository.findSummaries(suggestions.stream().map(Suggestion::userId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(UserSummary::id, UserSummary::name));
+
+            return Response.ok(suggestions.stream()
+                    .filter(suggestion -> names.containsKey(suggestion.userId()))
+                    .map(suggestion -> new SuggestionResponse(suggestion.userId(), names.get(suggestion.userId()),
+                            suggestion.overlap()))
+                    .toList()).build();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package quarkus.social.rest;
+
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.search.PostIndex;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.exception.MyExceptionMapper;
+import quarkus.social.rest.admission.DatabaseAdmission;
+import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.dto.PostsPageResponse;
+import quarkus.social.rest.pagination.Cursor;
+
+import java.util.List;
+
+/**
+ * Full-text search over the posts of the users {@code followerId} follows, the same posts
+ * {@code listPost} would show them. Matches come from the embedded {@link PostIndex}; the followed
+ * authors come from the follow graph when it is loaded and otherwise from one query on
+ * {@code followers}, which is why the resource is behind {@code @DatabaseAdmission}.
+ */
+@Path("/posts")
+@Produces(MediaType.APPLICATION_JSON)
+@DatabaseAdmission
+public class PostSearchResource {
+    private final PostIndex postIndex;
+    private final FollowerRepository followerRepository;
+
+    @Inject
+    public PostSearchResource(PostIndex postIndex, FollowerRepository followerRepository) {
+        this.postIndex = postIndex;
+        this.followerRepository = followerRepository;
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    @Path("search")
+    public Response search(@HeaderParam("followerId") Long followerId,
+                           @QueryParam("q") String query,
+                           @QueryParam("cursor") String cursor,
+                           @QueryParam("limit") Integer limit) {
+        try {
+            if (followerId == null) {
+                throw new MyException(ErrorMessages.HEADER_ERROR.toString(), Response.Status.BAD_REQUEST);
+            }
+            if (query == null || query.isBlank()) {
+                throw new MyException(ErrorMessages.SEARCH_QUERY_REQUIRED.toString(), Response.Status.BAD_REQUEST);
+            }
+            if (!postIndex.isReady()) {
+                throw new MyException(ErrorMessages.SEARCH_UNAVAILABLE.toString(), Response.Status.SERVICE_UNAVAILABLE);
+            }
+
+            long reference = postIndex.recencyReference();
+            Float afterScore = null;
+            Long afterId = null;
+            if (cursor != null) {
+                long[] keys = Cursor.decode(cursor, 3);
+                reference = keys[0];
+                afterScore = Float.intBitsToFloat((int) keys[1]);
+                afterId = keys[2];
+            }
+
+            int pageSize = Cursor.limit(limit);
+            long[] authorIds = followerRepository.findFollowedIds(followerId);
+            List<PostIndex.Hit> hits = postIndex.search(query, authorIds, reference, afterScore, afterId, pageSize + 1);
+
+            PostsPageResponse response = new PostsPageResponse();
+            if (hits.size() > pageSize) {
+                hits = hits.subList(0, pageSize);
+                PostIndex.Hit last = hits.get(pageSize - 1);
+                response.setNextCursor(Cursor.encode(reference, Float.floatToIntBits(last.score()), last.id()));
+            }
+            response.setContent(hits.stream()
+                    .map(hit -> new PostResponse(hit.id(), hit.userId(), hit.text(), hit.date()))
+                    .toList());
+
+            return Response.ok(response).build();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+    }
+}
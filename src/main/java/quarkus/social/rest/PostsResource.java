@@ -1,58 +1,102 @@
 package quarkus.social.rest;
 
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
-import io.quarkus.panache.common.Sort;
+import io.micrometer.core.annotation.Timed;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.event.PostCreated;
 import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.PostListingVersion;
 import quarkus.social.domain.model.User;
 import quarkus.social.domain.repository.FollowerRepository;
 import quarkus.social.domain.repository.PostRepository;
+import quarkus.social.domain.repository.ReplicaReadRepository;
+import quarkus.social.domain.writebehind.PostWriteBehind;
 import quarkus.social.exception.ErrorMessages;
 import quarkus.social.exception.MyException;
 import quarkus.social.exception.MyExceptionMapper;
+import quarkus.social.rest.admission.DatabaseAdmission;
+import quarkus.social.rest.cache.PostListingCache;
+import quarkus.social.rest.json.DtoJsonWriter;
 import quarkus.social.rest.dto.CreatePostRequest;
 import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.dto.PostsPageResponse;
+import quarkus.social.rest.pagination.Cursor;
+import quarkus.social.rest.replica.ReadRouting;
 
+import java.sql.Date;
 import java.util.List;
 
 @Path("/users/{userId}/posts")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
+@DatabaseAdmission
 public class PostsResource {
     private final UserResource userResource;
     private final PostRepository postRepository;
     private final FollowerRepository followerRepository;
+    private final Event<PostCreated> postCreated;
+    private final PostWriteBehind postWriteBehind;
+    private final PostListingCache listingCache;
+    private final ReplicaReadRepository replicaRepository;
+    private final ReadRouting readRouting;
 
     @Inject
-    public PostsResource(UserResource userResource, PostRepository postRepository, FollowerRepository followerRepository) {
+    public PostsResource(UserResource userResource, PostRepository postRepository, FollowerRepository followerRepository,
+                         Event<PostCreated> postCreated, PostWriteBehind postWriteBehind, PostListingCache listingCache,
+                         ReplicaReadRepository replicaRepository, ReadRouting readRouting) {
         this.userResource = userResource;
         this.postRepository = postRepository;
         this.followerRepository = followerRepository;
+        this.postCreated = postCreated;
+        this.postWriteBehind = postWriteBehind;
+        this.listingCache = listingCache;
+        this.replicaRepository = replicaRepository;
+        this.readRouting = readRouting;
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @POST
+    @RunOnVirtualThread
     @Transactional
     public Response savePost(@PathParam("userId") Long id, CreatePostRequest request) {
         try {
             User user = userResource.findUserById(id);
+
+            if (postWriteBehind.isEnabled()) {
+                return Response.status(Response.Status.ACCEPTED)
+                        .entity(postWriteBehind.accept(user.getId(), request.getText()))
+                        .build();
+            }
+
             Post post = new Post();
             post.setText(request.getText());
             post.setUser(user);
 
             postRepository.persist(post);
+            postCreated.fire(new PostCreated(post));
 
-            return Response.status(Response.Status.CREATED).entity(post).build();
+            return Response.status(Response.Status.CREATED).entity(PostResponse.fromEntity(post)).build();
         } catch (MyException e) {
             return new MyExceptionMapper().toResponse(e);
         }
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @GET
-    public Response listPost(@PathParam("userId") Long id, @HeaderParam("followerId") Long followerId) {
+    @RunOnVirtualThread
+    public Response listPost(@Context Request httpRequest,
+                             @PathParam("userId") Long id,
+                             @HeaderParam("followerId") Long followerId,
+                             @QueryParam("cursor") String cursor,
+                             @QueryParam("limit") Integer limit) {
         try {
             if(followerId == null) {
                 throw new MyException(ErrorMessages.HEADER_ERROR.toString(), Response.Status.BAD_REQUEST);
@@ -65,16 +109,39 @@ public class PostsResource {
 
             if(!follows) throw new MyException(ErrorMessages.FORBIDDEN.toString(), Response.Status.FORBIDDEN);
 
-            PanacheQuery<Post> query = postRepository
-                    .find("user", Sort.by("dateTime", Sort.Direction.Descending), user);
+            PostListingVersion version = postRepository.findListingVersion(id);
+            EntityTag etag = listingCache.etag(id, version);
+            Response.ResponseBuilder notModified = httpRequest.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.build();
+            }
+
+            int pageSize = Cursor.limit(limit);
+
+            if (cursor == null) {
+                byte[] firstPage = listingCache.firstPage(id, pageSize, version);
+                if (firstPage == null) {
+                    PostsPageResponse response = PostsPageResponse.fromPage(
+                            postRepository.findPageByUser(user, null, null, pageSize + 1), pageSize);
+                    firstPage = DtoJsonWriter.toBytes(response);
+                    listingCache.putFirstPage(id, pageSize, version, firstPage);
+                }
+
+                return Response.ok(firstPage, MediaType.APPLICATION_JSON_TYPE).tag(etag).build();
+            }
+
+            long[] keys = Cursor.decode(cursor, 2);
+            if (readRouting.useReplica()) {
+                // no ETag: the replica may not have reached the version it would promise yet
+                return Response.ok(PostsPageResponse.fromResponses(
+                        replicaRepository.findPostPage(id, new Date(keys[0]), keys[1], pageSize + 1), pageSize)).build();
+            }
+
+            List<Post> page = postRepository.findPageByUser(user, new Date(keys[0]), keys[1], pageSize + 1);
 
-            List<PostResponse> posts = query
-                    .list()
-                    .stream()
-                    .map(PostResponse::fromEntity)
-                    .toList();
+            PostsPageResponse response = PostsPageResponse.fromPage(page, pageSize);
 
-            return Response.ok(posts).build();
+            return Response.ok(response).tag(etag).build();
         } catch (MyException e) {
             return new MyExceptionMapper().toResponse(e);
         }
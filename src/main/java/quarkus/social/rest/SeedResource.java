@@ -0,0 +1,35 @@
+package quarkus.social.rest;
+
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.seed.SocialGraphGenerator;
+import quarkus.social.rest.dto.SeedRequest;
+
+/**
+ * Seeds a synthetic social graph for load tests. Not part of production builds.
+ */
+@Path("/seed")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@UnlessBuildProfile("prod")
+public class SeedResource {
+    private final SocialGraphGenerator generator;
+
+    @Inject
+    public SeedResource(SocialGraphGenerator generator) {
+        this.generator = generator;
+    }
+
+    @POST
+    @RunOnVirtualThread
+    public Response seed(SeedRequest request) {
+        return Response.ok(generator.generate(request == null ? new SeedRequest() : request)).build();
+    }
+}
@@ -0,0 +1,37 @@
+package quarkus.social.rest;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.trends.Trends;
+import quarkus.social.rest.dto.TrendsResponse;
+
+/**
+ * Trending hashtags and mentions, answered from memory without a database connection.
+ */
+@Path("/trends")
+@Produces(MediaType.APPLICATION_JSON)
+public class TrendsResource {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final Trends trends;
+
+    @Inject
+    public TrendsResource(Trends trends) {
+        this.trends = trends;
+    }
+
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    public Response listTrends(@QueryParam("limit") Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, Trends.MAX_LIMIT);
+        Trends.Snapshot snapshot = trends.current();
+
+        return Response.ok(TrendsResponse.of(snapshot.hashtags(), snapshot.mentions(), size)).build();
+    }
+}
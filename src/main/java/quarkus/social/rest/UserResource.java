@@ -1,6 +1,9 @@
 package quarkus.social.rest;
 
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolation;
@@ -8,13 +11,19 @@ import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.event.UserChanged;
 import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.ReplicaReadRepository;
+import quarkus.social.domain.repository.UserCounterRepository;
 import quarkus.social.domain.repository.UserRepository;
 import quarkus.social.exception.ErrorMessages;
 import quarkus.social.exception.MyException;
 import quarkus.social.exception.MyExceptionMapper;
+import quarkus.social.rest.admission.DatabaseAdmission;
 import quarkus.social.rest.dto.CreateUserRequest;
 import quarkus.social.rest.dto.ResponseError;
+import quarkus.social.rest.dto.UserStatsResponse;
+import quarkus.social.rest.replica.ReadRouting;
 
 import java.sql.Date;
 import java.util.Set;
@@ -22,17 +31,29 @@ import java.util.Set;
 @Path("/users")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
+@DatabaseAdmission
 public class UserResource {
     private final UserRepository repository;
     private final Validator validator;
+    private final UserCounterRepository counterRepository;
+    private final Event<UserChanged> userChanged;
+    private final ReplicaReadRepository replicaRepository;
+    private final ReadRouting readRouting;
 
     @Inject
-    public UserResource(UserRepository repository, Validator validator) {
+    public UserResource(UserRepository repository, Validator validator, UserCounterRepository counterRepository,
+                        Event<UserChanged> userChanged, ReplicaReadRepository replicaRepository, ReadRouting readRouting) {
         this.repository = repository;
         this.validator = validator;
+        this.counterRepository = counterRepository;
+        this.userChanged = userChanged;
+        this.replicaRepository = replicaRepository;
+        this.readRouting = readRouting;
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @POST
+    @RunOnVirtualThread
     @Transactional
     public Response createUser(CreateUserRequest userRequest) {
         Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(userRequest);
@@ -46,24 +67,35 @@ public class UserResource {
         user.setName(userRequest.getName());
 
         repository.persist(user);
+        userChanged.fire(new UserChanged(user, UserChanged.Type.CREATED));
 
         return Response.status(Response.Status.CREATED).entity(user).build();
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @GET
+    @RunOnVirtualThread
     public Response listAllUsers() {
+        if (readRouting.useReplica()) {
+            return Response.ok(replicaRepository.findAllUsers()).build();
+        }
+
         PanacheQuery<User> query = repository.findAll();
         return Response.ok(query.list()).build();
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @DELETE
+    @RunOnVirtualThread
     @Transactional
     @Path("{id}")
     public Response deleteUser(@PathParam("id") Long id) {
         try {
             User user = this.findUserById(id);
 
+            counterRepository.deleteByUser(id);
             repository.delete(user);
+            userChanged.fire(new UserChanged(user, UserChanged.Type.DELETED));
 
             return Response.status(Response.Status.NO_CONTENT).build();
         } catch (MyException e) {
@@ -71,7 +103,9 @@ public class UserResource {
         }
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
     @PUT
+    @RunOnVirtualThread
     @Transactional
     @Path("{id}")
     public Response updateUser(@PathParam("id") Long id, CreateUserRequest userData) {
@@ -80,6 +114,7 @@ public class UserResource {
 
             user.setName(userData.getName());
             user.setAge(Date.valueOf(userData.getAge()));
+            userChanged.fire(new UserChanged(user, UserChanged.Type.UPDATED));
 
             return Response.status(Response.Status.CREATED).entity(user).build();
         } catch (MyException e) {
@@ -87,6 +122,20 @@ public class UserResource {
         }
     }
 
+    @Timed(value = "social.endpoint", histogram = true)
+    @GET
+    @RunOnVirtualThread
+    @Path("{id}/stats")
+    public Response userStats(@PathParam("id") Long id) {
+        try {
+            this.findUserById(id);
+
+            return Response.ok(new UserStatsResponse(counterRepository.findStats(id))).build();
+        } catch (MyException e) {
+            return new MyExceptionMapper().toResponse(e);
+        }
+    }
+
     public User findUserById(Long id) throws MyException {
         User user = repository.findById(id);
         if (user != null) {
@@ -0,0 +1,62 @@
+package quarkus.social.rest.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One fair semaphore sized to {@code quarkus.datasource.jdbc.max-size}, shared by every
+ * {@link DatabaseAdmission} interceptor instance, and one sized to the replica pool
+ * ({@code quarkus.datasource.replica.jdbc.max-size}) for the queries routed there.
+ */
+@ApplicationScoped
+public class AdmissionControl {
+    private final Semaphore permits;
+    private final Semaphore replicaPermits;
+    private final long timeoutNanos;
+
+    @Inject
+    public AdmissionControl(@ConfigProperty(name = "quarkus.datasource.jdbc.max-size", defaultValue = "20") int poolSize,
+                            @ConfigProperty(name = "quarkus.datasource.replica.jdbc.max-size", defaultValue = "20") int replicaPoolSize,
+                            @ConfigProperty(name = "social.db-admission.timeout", defaultValue = "5s") Duration timeout,
+                            MeterRegistry registry) {
+        this.permits = new Semaphore(poolSize, true);
+        this.replicaPermits = new Semaphore(replicaPoolSize, true);
+        this.timeoutNanos = timeout.toNanos();
+
+        Gauge.builder("social.db.admission.available", permits, Semaphore::availablePermits).register(registry);
+        Gauge.builder("social.db.admission.waiting", permits, Semaphore::getQueueLength).register(registry);
+        Gauge.builder("social.db.admission.replica.available", replicaPermits, Semaphore::availablePermits).register(registry);
+        Gauge.builder("social.db.admission.replica.waiting", replicaPermits, Semaphore::getQueueLength).register(registry);
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        return permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    public boolean tryAcquireReplica() throws InterruptedException {
+        return replicaPermits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void releaseReplica() {
+        replicaPermits.release();
+    }
+}
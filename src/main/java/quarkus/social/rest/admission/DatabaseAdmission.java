@@ -0,0 +1,19 @@
+package quarkus.social.rest.admission;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bounds how many calls may be inside the annotated beans at once to the size of the JDBC pool.
+ * Excess callers wait in a fair queue instead of all competing for a connection. Enforced in the
+ * virtual-thread build only, see {@link DatabaseAdmissionInterceptor}.
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface DatabaseAdmission {
+}
@@ -0,0 +1,54 @@
+package quarkus.social.rest.admission;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+
+/**
+ * Runs before {@code @Transactional} so a request is admitted before it can take a connection.
+ * A thread that already holds a permit (a resource calling {@code UserResource.findUserById})
+ * passes straight through.
+ * <p>
+ * Only part of the virtual-thread build ({@code -Dstack=virtual}), where nothing else bounds the
+ * number of requests in flight. The classic build is bounded by its worker pool and keeps
+ * queueing on the connection pool as before.
+ */
+@IfBuildProperty(name = "stack", stringValue = "virtual")
+@DatabaseAdmission
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class DatabaseAdmissionInterceptor {
+    private static final ThreadLocal<Boolean> ADMITTED = new ThreadLocal<>();
+
+    private final AdmissionControl admissionControl;
+
+    @Inject
+    public DatabaseAdmissionInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @AroundInvoke
+    Object admit(InvocationContext context) throws Exception {
+        if (ADMITTED.get() != null) {
+            return context.proceed();
+        }
+
+        if (!admissionControl.tryAcquire()) {
+            throw new MyException(ErrorMessages.SERVICE_BUSY.toString(), Response.Status.SERVICE_UNAVAILABLE);
+        }
+
+        ADMITTED.set(Boolean.TRUE);
+        try {
+            return context.proceed();
+        } finally {
+            ADMITTED.remove();
+            admissionControl.release();
+        }
+    }
+}
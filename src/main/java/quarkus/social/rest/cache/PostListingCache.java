@@ -0,0 +1,72 @@
+package quarkus.social.rest.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.EntityTag;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.model.PostListingVersion;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ETags for {@code GET /users/{userId}/posts} and an LRU cache of the serialized first page of each
+ * author bounded by {@code social.posts.page-cache.max-bytes}.
+ * <p>
+ * Both are keyed on the {@link PostListingVersion} each request reads from the database, so posts
+ * written by another instance, by the write-behind writer or straight into the table are seen on
+ * the next request, and every instance hands out the same tag for the same listing.
+ */
+@ApplicationScoped
+public class PostListingCache {
+    private final LinkedHashMap<PageKey, CachedPage> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private final boolean pageCacheEnabled;
+    private final long maxBytes;
+    private long bytes;
+
+    record PageKey(long authorId, int pageSize) {
+    }
+
+    record CachedPage(PostListingVersion version, byte[] json) {
+    }
+
+    @Inject
+    public PostListingCache(@ConfigProperty(name = "social.posts.page-cache.enabled", defaultValue = "true") boolean pageCacheEnabled,
+                            @ConfigProperty(name = "social.posts.page-cache.max-bytes", defaultValue = "16777216") long maxBytes) {
+        this.pageCacheEnabled = pageCacheEnabled;
+        this.maxBytes = maxBytes;
+    }
+
+    public EntityTag etag(Long authorId, PostListingVersion version) {
+        return new EntityTag(authorId + "-" + version.count() + "-" + version.lastId());
+    }
+
+    /**
+     * The cached first page of {@code authorId}, or null when missing or cached at another {@code version}.
+     */
+    public synchronized byte[] firstPage(Long authorId, int pageSize, PostListingVersion version) {
+        if (!pageCacheEnabled) {
+            return null;
+        }
+
+        CachedPage page = pages.get(new PageKey(authorId, pageSize));
+
+        return page == null || !page.version().equals(version) ? null : page.json();
+    }
+
+    public synchronized void putFirstPage(Long authorId, int pageSize, PostListingVersion version, byte[] json) {
+        if (!pageCacheEnabled || json.length > maxBytes) {
+            return;
+        }
+
+        CachedPage previous = pages.put(new PageKey(authorId, pageSize), new CachedPage(version, json));
+        bytes += json.length - (previous == null ? 0 : previous.json().length);
+
+        Iterator<Map.Entry<PageKey, CachedPage>> eldest = pages.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().json().length;
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkFollowRequest {
+    private List<FollowEdge> edges;
+}
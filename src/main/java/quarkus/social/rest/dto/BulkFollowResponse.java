@@ -0,0 +1,16 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkFollowResponse {
+    private Integer requested;
+    private Integer applied;
+    private Integer skipped;
+
+    public BulkFollowResponse(Integer requested, Integer applied) {
+        this.requested = requested;
+        this.applied = applied;
+        this.skipped = requested - applied;
+    }
+}
@@ -0,0 +1,28 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+import org.hibernate.stat.CacheRegionStatistics;
+
+@Data
+public class CacheStatsResponse {
+    private String region;
+    private Long hits;
+    private Long misses;
+    private Long puts;
+    private Long size;
+    private Double hitRatio;
+
+    public static CacheStatsResponse fromStatistics(String region, CacheRegionStatistics statistics) {
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setRegion(region);
+        response.setHits(statistics.getHitCount());
+        response.setMisses(statistics.getMissCount());
+        response.setPuts(statistics.getPutCount());
+        response.setSize(statistics.getElementCountInMemory());
+
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        response.setHitRatio(lookups == 0 ? 0.0 : (double) statistics.getHitCount() / lookups);
+
+        return response;
+    }
+}
@@ -0,0 +1,21 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+import quarkus.social.domain.model.FollowPair;
+
+@Data
+public class FollowEdge {
+    private Long userId;
+    private Long followerId;
+
+    public FollowEdge() {}
+
+    public FollowEdge(Long userId, Long followerId) {
+        this.userId = userId;
+        this.followerId = followerId;
+    }
+
+    public FollowPair toPair() {
+        return new FollowPair(userId, followerId);
+    }
+}
@@ -1,7 +1,7 @@
 package quarkus.social.rest.dto;
 
 import lombok.Data;
-import quarkus.social.domain.model.Follower;
+import quarkus.social.domain.model.UserSummary;
 
 @Data
 public class FollowerResponse {
@@ -10,8 +10,8 @@ public class FollowerResponse {
 
     public FollowerResponse() {}
 
-    public FollowerResponse(Follower follower) {
-        this(follower.getId(), follower.getFollower().getName());
+    public FollowerResponse(UserSummary summary) {
+        this(summary.id(), summary.name());
     }
 
     public FollowerResponse(Long id, String name) {
@@ -6,6 +6,7 @@ import java.util.List;
 
 @Data
 public class FollowersPerUserResponse {
-    private Integer followersCount;
+    private Long followersCount;
     private List<FollowerResponse> content;
+    private String nextCursor;
 }
@@ -0,0 +1,16 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+
+@Data
+public class MutualFollowResponse {
+    private Boolean userFollowsOther;
+    private Boolean otherFollowsUser;
+    private Boolean mutual;
+
+    public MutualFollowResponse(Boolean userFollowsOther, Boolean otherFollowsUser) {
+        this.userFollowsOther = userFollowsOther;
+        this.otherFollowsUser = otherFollowsUser;
+        this.mutual = userFollowsOther && otherFollowsUser;
+    }
+}
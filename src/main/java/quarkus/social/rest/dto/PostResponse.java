@@ -7,11 +7,24 @@ import java.sql.Date;
 
 @Data
 public class PostResponse {
+    private Long id;
+    private Long userId;
     private String text;
     private Date date;
 
+    public PostResponse() {}
+
+    public PostResponse(Long id, Long userId, String text, Date date) {
+        this.id = id;
+        this.userId = userId;
+        this.text = text;
+        this.date = date;
+    }
+
     public static PostResponse fromEntity(Post post) {
         PostResponse postResponse = new PostResponse();
+        postResponse.setId(post.getId());
+        postResponse.setUserId(post.getUser().getId());
         postResponse.setDate(post.getDateTime());
         postResponse.setText(post.getText());
 
@@ -0,0 +1,38 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+import quarkus.social.domain.model.Post;
+import quarkus.social.rest.pagination.Cursor;
+
+import java.util.List;
+
+@Data
+public class PostsPageResponse {
+    private List<PostResponse> content;
+    private String nextCursor;
+
+    /**
+     * Builds a page from posts fetched with one extra row: when more than {@code pageSize}
+     * posts are given, the surplus is dropped and a cursor pointing after the last kept post is set.
+     */
+    public static PostsPageResponse fromPage(List<Post> posts, int pageSize) {
+        return fromResponses(posts.stream().map(PostResponse::fromEntity).toList(), pageSize);
+    }
+
+    /**
+     * Same as {@link #fromPage} for posts already read into {@link PostResponse}s.
+     */
+    public static PostsPageResponse fromResponses(List<PostResponse> posts, int pageSize) {
+        PostsPageResponse response = new PostsPageResponse();
+
+        if (posts.size() > pageSize) {
+            posts = posts.subList(0, pageSize);
+            PostResponse last = posts.get(pageSize - 1);
+            response.setNextCursor(Cursor.encode(last.getDate().getTime(), last.getId()));
+        }
+
+        response.setContent(posts);
+
+        return response;
+    }
+}
@@ -0,0 +1,12 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+
+@Data
+public class SeedRequest {
+    private Integer users;
+    private Integer followsPerUser;
+    private Integer postsPerUser;
+    private Double exponent;
+    private Long randomSeed;
+}
@@ -0,0 +1,11 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+
+@Data
+public class SeedResponse {
+    private Long users;
+    private Long follows;
+    private Long posts;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,16 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+
+@Data
+public class SuggestionResponse {
+    private Long id;
+    private String name;
+    private Integer mutualConnections;
+
+    public SuggestionResponse(Long id, String name, Integer mutualConnections) {
+        this.id = id;
+        this.name = name;
+        this.mutualConnections = mutualConnections;
+    }
+}
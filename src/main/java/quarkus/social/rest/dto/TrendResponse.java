@@ -0,0 +1,17 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+import quarkus.social.domain.trends.Trend;
+
+@Data
+public class TrendResponse {
+    private String tag;
+    private Long count;
+
+    public TrendResponse() {}
+
+    public TrendResponse(Trend trend) {
+        this.tag = trend.tag();
+        this.count = trend.count();
+    }
+}
@@ -0,0 +1,20 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+import quarkus.social.domain.trends.Trend;
+
+import java.util.List;
+
+@Data
+public class TrendsResponse {
+    private List<TrendResponse> hashtags;
+    private List<TrendResponse> mentions;
+
+    public static TrendsResponse of(List<Trend> hashtags, List<Trend> mentions, int limit) {
+        TrendsResponse response = new TrendsResponse();
+        response.setHashtags(hashtags.stream().limit(limit).map(TrendResponse::new).toList());
+        response.setMentions(mentions.stream().limit(limit).map(TrendResponse::new).toList());
+
+        return response;
+    }
+}
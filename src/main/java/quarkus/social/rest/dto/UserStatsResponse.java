@@ -0,0 +1,21 @@
+package quarkus.social.rest.dto;
+
+import lombok.Data;
+import quarkus.social.domain.model.UserStats;
+
+@Data
+public class UserStatsResponse {
+    private Long followersCount;
+    private Long followingCount;
+
+    public UserStatsResponse() {}
+
+    public UserStatsResponse(Long followersCount, Long followingCount) {
+        this.followersCount = followersCount;
+        this.followingCount = followingCount;
+    }
+
+    public UserStatsResponse(UserStats stats) {
+        this(stats.followersCount(), stats.followingCount());
+    }
+}
@@ -0,0 +1,115 @@
+package quarkus.social.rest.json;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import quarkus.social.rest.dto.FollowerResponse;
+import quarkus.social.rest.dto.FollowersPerUserResponse;
+import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.dto.PostsPageResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes the listing DTOs without reflection, in place of JSON-B. The output matches JSON-B's
+ * defaults: properties in lexicographic order, null properties left out, dates as ISO
+ * {@code yyyy-MM-dd}.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class DtoJsonWriter implements MessageBodyWriter<Object> {
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == PostsPageResponse.class
+                || type == FollowersPerUserResponse.class
+                || type == PostResponse.class
+                || type == FollowerResponse.class;
+    }
+
+    @Override
+    public void writeTo(Object dto, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        write(dto, entityStream);
+    }
+
+    public static void write(Object dto, OutputStream out) throws IOException {
+        try (JsonOutput json = new JsonOutput(out)) {
+            if (dto instanceof PostsPageResponse page) {
+                write(json, page);
+            } else if (dto instanceof FollowersPerUserResponse followers) {
+                write(json, followers);
+            } else if (dto instanceof PostResponse post) {
+                write(json, post);
+            } else if (dto instanceof FollowerResponse follower) {
+                write(json, follower);
+            } else {
+                throw new IllegalArgumentException("Unsupported type " + dto.getClass());
+            }
+
+            json.flush();
+        }
+    }
+
+    public static byte[] toBytes(Object dto) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(dto, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static void write(JsonOutput json, PostsPageResponse page) throws IOException {
+        json.beginObject();
+        if (page.getContent() != null) {
+            json.beginArray("content");
+            for (PostResponse post : page.getContent()) {
+                write(json, post);
+            }
+            json.endArray();
+        }
+        json.field("nextCursor", page.getNextCursor())
+                .endObject();
+    }
+
+    private static void write(JsonOutput json, FollowersPerUserResponse followers) throws IOException {
+        json.beginObject();
+        List<FollowerResponse> content = followers.getContent();
+        if (content != null) {
+            json.beginArray("content");
+            for (FollowerResponse follower : content) {
+                write(json, follower);
+            }
+            json.endArray();
+        }
+        json.field("followersCount", followers.getFollowersCount())
+                .field("nextCursor", followers.getNextCursor())
+                .endObject();
+    }
+
+    private static void write(JsonOutput json, PostResponse post) throws IOException {
+        json.beginObject()
+                .field("date", post.getDate())
+                .field("id", post.getId())
+                .field("text", post.getText())
+                .field("userId", post.getUserId())
+                .endObject();
+    }
+
+    private static void write(JsonOutput json, FollowerResponse follower) throws IOException {
+        json.beginObject()
+                .field("id", follower.getId())
+                .field("name", follower.getName())
+                .endObject();
+    }
+}
@@ -0,0 +1,223 @@
+package quarkus.social.rest.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Minimal streaming JSON writer: UTF-8 straight into a pooled byte buffer that is flushed to the
+ * target stream when full. Numbers and dates are written digit by digit, so a response costs no
+ * allocation beyond what the DTO getters return.
+ * <p>
+ * The buffers come from a shared pool rather than a {@code ThreadLocal}: requests on virtual
+ * threads each run on a new thread, which would allocate a fresh buffer every time. The pool keeps
+ * up to {@value #POOL_SIZE} buffers; when it is empty a new one is allocated and dropped after use.
+ */
+final class JsonOutput implements AutoCloseable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int POOL_SIZE = 64;
+    private static final BlockingQueue<byte[]> BUFFERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private boolean needsComma;
+
+    JsonOutput(OutputStream out) {
+        byte[] pooled = BUFFERS.poll();
+        this.out = out;
+        this.buffer = pooled == null ? new byte[BUFFER_SIZE] : pooled;
+    }
+
+    JsonOutput beginObject() throws IOException {
+        separate();
+        write('{');
+        needsComma = false;
+        return this;
+    }
+
+    JsonOutput endObject() throws IOException {
+        write('}');
+        needsComma = true;
+        return this;
+    }
+
+    JsonOutput beginArray(String name) throws IOException {
+        name(name);
+        write('[');
+        needsComma = false;
+        return this;
+    }
+
+    JsonOutput endArray() throws IOException {
+        write(']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes {@code "name":value}; null values are skipped, like JSON-B does by default.
+     */
+    JsonOutput field(String name, Long value) throws IOException {
+        if (value != null) {
+            name(name);
+            number(value);
+            needsComma = true;
+        }
+        return this;
+    }
+
+    JsonOutput field(String name, String value) throws IOException {
+        if (value != null) {
+            name(name);
+            string(value);
+            needsComma = true;
+        }
+        return this;
+    }
+
+    JsonOutput field(String name, Date value) throws IOException {
+        if (value != null) {
+            LocalDate date = value.toLocalDate();
+            name(name);
+            write('"');
+            padded(date.getYear(), 4);
+            write('-');
+            padded(date.getMonthValue(), 2);
+            write('-');
+            padded(date.getDayOfMonth(), 2);
+            write('"');
+            needsComma = true;
+        }
+        return this;
+    }
+
+    void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    /**
+     * Gives the buffer back to the pool; whatever was not flushed is discarded.
+     */
+    @Override
+    public void close() {
+        position = 0;
+        BUFFERS.offer(buffer);
+    }
+
+    private void name(String name) throws IOException {
+        separate();
+        string(name);
+        write(':');
+    }
+
+    private void separate() throws IOException {
+        if (needsComma) {
+            write(',');
+        }
+    }
+
+    /**
+     * Escapes like JSON-B (Parsson): the two-character forms for quote, backslash, backspace, form
+     * feed, newline, carriage return and tab, lowercase hex escapes for the other control characters,
+     * everything else as UTF-8. A surrogate without its pair cannot be encoded and becomes
+     * {@code ?}, as the JDK's UTF-8 encoder replaces it.
+     */
+    private void string(String value) throws IOException {
+        write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                write('\\');
+                write(c);
+            } else if (c == '\b') {
+                escape('b');
+            } else if (c == '\f') {
+                escape('f');
+            } else if (c == '\n') {
+                escape('n');
+            } else if (c == '\r') {
+                escape('r');
+            } else if (c == '\t') {
+                escape('t');
+            } else if (c < 0x20) {
+                write('\\');
+                write('u');
+                write('0');
+                write('0');
+                write(HEX[c >> 4]);
+                write(HEX[c & 0xF]);
+            } else if (c < 0x80) {
+                write(c);
+            } else if (c < 0x800) {
+                write(0xC0 | c >> 6);
+                write(0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    write(0xF0 | codePoint >> 18);
+                    write(0x80 | codePoint >> 12 & 0x3F);
+                    write(0x80 | codePoint >> 6 & 0x3F);
+                    write(0x80 | codePoint & 0x3F);
+                } else {
+                    write('?');
+                }
+            } else {
+                write(0xE0 | c >> 12);
+                write(0x80 | c >> 6 & 0x3F);
+                write(0x80 | c & 0x3F);
+            }
+        }
+        write('"');
+    }
+
+    private void escape(char c) throws IOException {
+        write('\\');
+        write(c);
+    }
+
+    private void number(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            for (byte b : MIN_LONG) {
+                write(b);
+            }
+            return;
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            write('0' + (int) (value / divisor % 10));
+        }
+    }
+
+    private void padded(int value, int digits) throws IOException {
+        int divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            write('0' + value / divisor % 10);
+        }
+    }
+
+    private void write(int b) throws IOException {
+        if (position == buffer.length) {
+            flush();
+        }
+        buffer[position++] = (byte) b;
+    }
+}
@@ -0,0 +1,55 @@
+package quarkus.social.rest.pagination;
+
+import jakarta.ws.rs.core.Response;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: a fixed number of long keys, base64url encoded.
+ * Clients must treat the value as a token and send it back unchanged.
+ */
+public final class Cursor {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private Cursor() {}
+
+    public static String encode(long... keys) {
+        ByteBuffer buffer = ByteBuffer.allocate(keys.length * Long.BYTES);
+        for (long key : keys) {
+            buffer.putLong(key);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static long[] decode(String cursor, int arity) throws MyException {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != arity * Long.BYTES) {
+                throw new IllegalArgumentException();
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long[] keys = new long[arity];
+            for (int i = 0; i < arity; i++) {
+                keys[i] = buffer.getLong();
+            }
+
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new MyException(ErrorMessages.INVALID_CURSOR.toString(), Response.Status.BAD_REQUEST);
+        }
+    }
+
+    public static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+
+        return Math.min(requested, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,19 @@
+package quarkus.social.rest.replica;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Whether the current request may read from the replica, decided by {@link ReadRoutingFilter}.
+ */
+@RequestScoped
+public class ReadRouting {
+    private boolean replica;
+
+    public boolean useReplica() {
+        return replica;
+    }
+
+    void setReplica(boolean replica) {
+        this.replica = replica;
+    }
+}
@@ -0,0 +1,72 @@
+package quarkus.social.rest.replica;
+
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+/**
+ * Routes GET requests to resource methods without {@code @Transactional} to the read replica.
+ * <p>
+ * Read-your-writes: a successful write answers with the {@value #STICKY_COOKIE} cookie, which
+ * lives for {@code social.datasource.replica.sticky-window}. While a client sends it back, its
+ * reads go to the primary, so it sees its own changes even when the replica lags behind.
+ */
+@Provider
+public class ReadRoutingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    public static final String STICKY_COOKIE = "social-read-primary";
+
+    private final ReadRouting readRouting;
+    private final boolean enabled;
+    private final int stickySeconds;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    public ReadRoutingFilter(ReadRouting readRouting,
+                             @ConfigProperty(name = "social.datasource.replica.enabled", defaultValue = "false") boolean enabled,
+                             @ConfigProperty(name = "social.datasource.replica.sticky-window", defaultValue = "5s") Duration stickyWindow) {
+        this.readRouting = readRouting;
+        this.enabled = enabled;
+        this.stickySeconds = (int) Math.max(1, stickyWindow.toSeconds());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        readRouting.setReplica(enabled
+                && HttpMethod.GET.equals(request.getMethod())
+                && resourceInfo.getResourceMethod() != null
+                && !resourceInfo.getResourceMethod().isAnnotationPresent(Transactional.class)
+                && !resourceInfo.getResourceClass().isAnnotationPresent(Transactional.class)
+                && !request.getCookies().containsKey(STICKY_COOKIE));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!enabled || isRead(request.getMethod()) || response.getStatus() >= 400) {
+            return;
+        }
+
+        response.getHeaders().add("Set-Cookie", new NewCookie.Builder(STICKY_COOKIE)
+                .value("1")
+                .path("/")
+                .maxAge(stickySeconds)
+                .httpOnly(true)
+                .build());
+    }
+
+    private static boolean isRead(String method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method);
+    }
+}
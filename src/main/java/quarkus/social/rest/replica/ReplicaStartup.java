@@ -0,0 +1,43 @@
+package quarkus.social.rest.replica;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+
+/**
+ * Stops the application when replica routing is on without a replica to route to: a missing
+ * {@code quarkus.datasource.replica.jdbc.url}, or one naming the primary, would only open a second
+ * pool against the primary.
+ */
+@ApplicationScoped
+public class ReplicaStartup {
+    private final boolean enabled;
+    private final Optional<String> replicaUrl;
+    private final Optional<String> primaryUrl;
+
+    @Inject
+    public ReplicaStartup(@ConfigProperty(name = "social.datasource.replica.enabled", defaultValue = "false") boolean enabled,
+                          @ConfigProperty(name = "quarkus.datasource.replica.jdbc.url") Optional<String> replicaUrl,
+                          @ConfigProperty(name = "quarkus.datasource.jdbc.url") Optional<String> primaryUrl) {
+        this.enabled = enabled;
+        this.replicaUrl = replicaUrl;
+        this.primaryUrl = primaryUrl;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        String url = replicaUrl.orElseThrow(() -> new IllegalStateException(
+                "social.datasource.replica.enabled needs quarkus.datasource.replica.jdbc.url set to the replica"));
+        if (primaryUrl.filter(url::equals).isPresent()) {
+            throw new IllegalStateException(
+                    "quarkus.datasource.replica.jdbc.url names the primary: set social.datasource.replica.enabled=false instead");
+        }
+    }
+}
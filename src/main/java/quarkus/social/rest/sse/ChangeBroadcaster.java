@@ -0,0 +1,51 @@
+package quarkus.social.rest.sse;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseBroadcaster;
+import jakarta.ws.rs.sse.SseEventSink;
+import quarkus.social.domain.outbox.ChangeEvent;
+import quarkus.social.domain.outbox.OutboxSink;
+
+import java.util.List;
+
+/**
+ * Outbox sink that broadcasts every relayed event to the clients of {@code GET /changes}. The
+ * event id is the outbox id and the event name its type. Clients connected while a batch is
+ * published again may see it twice; events relayed while a client was disconnected are not replayed.
+ */
+@ApplicationScoped
+public class ChangeBroadcaster implements OutboxSink {
+    private Sse sse;
+    private SseBroadcaster broadcaster;
+
+    public synchronized void register(SseEventSink eventSink, Sse sse) {
+        if (broadcaster == null) {
+            this.sse = sse;
+            this.broadcaster = sse.newBroadcaster();
+        }
+        broadcaster.register(eventSink);
+    }
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEvent> events) {
+        if (broadcaster == null) {
+            return;
+        }
+
+        for (ChangeEvent event : events) {
+            broadcaster.broadcast(sse.newEventBuilder()
+                    .id(Long.toString(event.id()))
+                    .name(event.type())
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(event.toJson())
+                    .build());
+        }
+    }
+}
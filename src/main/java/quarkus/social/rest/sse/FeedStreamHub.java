@@ -0,0 +1,269 @@
+package quarkus.social.rest.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.event.FollowChanged;
+import quarkus.social.domain.event.PostCreated;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.json.DtoJsonWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed posts to the open feed streams of the author's followers.
+ * <p>
+ * {@code routes} maps each author to the connections of their connected followers, as arrays
+ * replaced copy-on-write like the follow graph, so publishing a post is one map lookup plus one
+ * non-blocking {@link FeedSubscriber#offer} per connected follower; the event is serialized once.
+ * Routes are built from the follower's followings when the stream opens and kept current from
+ * committed {@link FollowChanged} events. Nothing is routed for users without an open stream.
+ * <p>
+ * Connections whose buffer overflows are closed and counted in {@code social.feed.stream.dropped}.
+ * A heartbeat comment keeps idle connections open through proxies and removes the ones the
+ * client has closed.
+ */
+@ApplicationScoped
+public class FeedStreamHub {
+    private final ConcurrentMap<Long, FeedSubscriber[]> routes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, FeedSubscriber[]> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final FollowerRepository followerRepository;
+    private final Counter dropped;
+    private final int bufferSize;
+    private final int maxConnections;
+    private final Duration heartbeat;
+    private volatile Sse sse;
+    private volatile OutboundSseEvent ping;
+    private ScheduledExecutorService heartbeats;
+
+    @Inject
+    public FeedStreamHub(FollowerRepository followerRepository, MeterRegistry registry,
+                         @ConfigProperty(name = "social.feed.stream.buffer-size", defaultValue = "64") int bufferSize,
+                         @ConfigProperty(name = "social.feed.stream.max-connections", defaultValue = "100000") int maxConnections,
+                         @ConfigProperty(name = "social.feed.stream.heartbeat", defaultValue = "30s") Duration heartbeat) {
+        this.followerRepository = followerRepository;
+        this.bufferSize = bufferSize;
+        this.maxConnections = maxConnections;
+        this.heartbeat = heartbeat;
+        this.dropped = Counter.builder("social.feed.stream.dropped").register(registry);
+
+        Gauge.builder("social.feed.stream.connections", connected, AtomicInteger::get).register(registry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "feed-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        heartbeats.shutdownNow();
+        connections.values().forEach(subscribers -> Arrays.stream(subscribers).forEach(this::unsubscribe));
+    }
+
+    /**
+     * Opens a stream for {@code followerId}, or fails with 503 once {@code social.feed.stream.max-connections} are open.
+     */
+    public void subscribe(long followerId, SseEventSink sink, Sse sse) {
+        if (connected.incrementAndGet() > maxConnections) {
+            connected.decrementAndGet();
+            throw new MyException(ErrorMessages.SERVICE_BUSY.toString(), Response.Status.SERVICE_UNAVAILABLE);
+        }
+        if (this.sse == null) {
+            this.sse = sse;
+            this.ping = sse.newEventBuilder().comment("ping").build();
+        }
+
+        // registered before the followings are read, so a follow committed in between is routed too
+        FeedSubscriber subscriber = new FeedSubscriber(followerId, sink, bufferSize);
+        connections.compute(followerId, (id, subscribers) -> with(subscribers, subscriber));
+        try {
+            for (long authorId : followerRepository.findFollowedIds(followerId)) {
+                route(subscriber, authorId);
+            }
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+
+        if (!subscriber.offer(ping)) {
+            unsubscribe(subscriber);
+        }
+    }
+
+    void onPostCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) PostCreated event) {
+        FeedSubscriber[] subscribers = routes.get(event.post().getUser().getId());
+        if (subscribers == null) {
+            return;
+        }
+
+        OutboundSseEvent post = sse.newEventBuilder()
+                .id(Long.toString(event.post().getId()))
+                .name("post")
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(new String(DtoJsonWriter.toBytes(PostResponse.fromEntity(event.post())), StandardCharsets.UTF_8))
+                .build();
+        for (FeedSubscriber subscriber : subscribers) {
+            if (!subscriber.offer(post)) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    void onFollowChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) FollowChanged event) {
+        if (connections.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < event.size(); i++) {
+            FeedSubscriber[] subscribers = connections.get(event.followerIds()[i]);
+            if (subscribers == null) {
+                continue;
+            }
+
+            for (FeedSubscriber subscriber : subscribers) {
+                if (event.following()) {
+                    route(subscriber, event.userIds()[i]);
+                } else {
+                    unroute(subscriber, event.userIds()[i]);
+                }
+            }
+        }
+    }
+
+    private void heartbeat() {
+        try {
+            for (FeedSubscriber[] subscribers : connections.values()) {
+                for (FeedSubscriber subscriber : subscribers) {
+                    if (subscriber.isClosed()) {
+                        unsubscribe(subscriber);
+                    } else if (!subscriber.offer(ping)) {
+                        drop(subscriber);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // an exception would cancel the schedule
+            Log.errorf(e, "Feed stream heartbeat failed");
+        }
+    }
+
+    private void drop(FeedSubscriber subscriber) {
+        if (!subscriber.isClosed()) {
+            dropped.increment();
+        }
+        unsubscribe(subscriber);
+    }
+
+    private void unsubscribe(FeedSubscriber subscriber) {
+        subscriber.close();
+
+        boolean[] removed = new boolean[1];
+        connections.computeIfPresent(subscriber.followerId, (id, subscribers) -> {
+            FeedSubscriber[] remaining = without(subscribers, subscriber);
+            removed[0] = remaining != subscribers;
+            return remaining;
+        });
+        if (removed[0]) {
+            connected.decrementAndGet();
+        }
+        // also when already removed: a follow routed after the first removal leaves a route behind
+        for (long authorId : subscriber.authors) {
+            routes.computeIfPresent(authorId, (id, subscribers) -> without(subscribers, subscriber));
+        }
+    }
+
+    private void route(FeedSubscriber subscriber, long authorId) {
+        synchronized (subscriber) {
+            long[] authors = subscriber.authors;
+            int index = Arrays.binarySearch(authors, authorId);
+            if (index >= 0) {
+                return;
+            }
+            long[] updated = new long[authors.length + 1];
+            int at = -index - 1;
+            System.arraycopy(authors, 0, updated, 0, at);
+            updated[at] = authorId;
+            System.arraycopy(authors, at, updated, at + 1, authors.length - at);
+            subscriber.authors = updated;
+        }
+        routes.compute(authorId, (id, subscribers) -> with(subscribers, subscriber));
+    }
+
+    private void unroute(FeedSubscriber subscriber, long authorId) {
+        synchronized (subscriber) {
+            long[] authors = subscriber.authors;
+            int index = Arrays.binarySearch(authors, authorId);
+            if (index < 0) {
+                return;
+            }
+            long[] updated = new long[authors.length - 1];
+            System.arraycopy(authors, 0, updated, 0, index);
+            System.arraycopy(authors, index + 1, updated, index, authors.length - index - 1);
+            subscriber.authors = updated;
+        }
+        routes.computeIfPresent(authorId, (id, subscribers) -> without(subscribers, subscriber));
+    }
+
+    private static FeedSubscriber[] with(FeedSubscriber[] subscribers, FeedSubscriber subscriber) {
+        if (subscribers == null) {
+            return new FeedSubscriber[]{subscriber};
+        }
+        for (FeedSubscriber existing : subscribers) {
+            if (existing == subscriber) {
+                return subscribers;
+            }
+        }
+
+        FeedSubscriber[] updated = Arrays.copyOf(subscribers, subscribers.length + 1);
+        updated[subscribers.length] = subscriber;
+        return updated;
+    }
+
+    /**
+     * {@code subscribers} without {@code subscriber}: the same array when absent, null when it becomes empty.
+     */
+    private static FeedSubscriber[] without(FeedSubscriber[] subscribers, FeedSubscriber subscriber) {
+        for (int i = 0; i < subscribers.length; i++) {
+            if (subscribers[i] == subscriber) {
+                if (subscribers.length == 1) {
+                    return null;
+                }
+                FeedSubscriber[] updated = new FeedSubscriber[subscribers.length - 1];
+                System.arraycopy(subscribers, 0, updated, 0, i);
+                System.arraycopy(subscribers, i + 1, updated, i, subscribers.length - i - 1);
+                return updated;
+            }
+        }
+
+        return subscribers;
+    }
+}
@@ -0,0 +1,92 @@
+package quarkus.social.rest.sse;
+
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.util.ArrayDeque;
+
+/**
+ * One connection of {@code GET /users/{followerId}/feed/stream}. At most one send is in flight;
+ * events arriving meanwhile wait in a buffer of {@code capacity} events, and {@link #offer}
+ * refuses once it is full so the hub can disconnect the slow consumer instead of buffering
+ * without bound. The buffer grows on demand, so an idle connection holds a few references only.
+ */
+final class FeedSubscriber {
+    private static final long[] NONE = new long[0];
+
+    final long followerId;
+    private final SseEventSink sink;
+    private final int capacity;
+    private final ArrayDeque<OutboundSseEvent> buffer = new ArrayDeque<>(2);
+    // sorted ids of the authors routed to this connection, replaced copy-on-write by the hub
+    volatile long[] authors = NONE;
+    private boolean sending;
+    private boolean closed;
+
+    FeedSubscriber(long followerId, SseEventSink sink, int capacity) {
+        this.followerId = followerId;
+        this.sink = sink;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sends or buffers {@code event}; false when the connection is closed or its buffer is full.
+     */
+    boolean offer(OutboundSseEvent event) {
+        synchronized (this) {
+            if (closed || sink.isClosed()) {
+                return false;
+            }
+            if (sending) {
+                if (buffer.size() >= capacity) {
+                    return false;
+                }
+                buffer.addLast(event);
+                return true;
+            }
+            sending = true;
+        }
+
+        send(event);
+        return true;
+    }
+
+    synchronized boolean isClosed() {
+        return closed || sink.isClosed();
+    }
+
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+        }
+
+        try {
+            sink.close();
+        } catch (RuntimeException e) {
+            // the client is gone already
+        }
+    }
+
+    private void send(OutboundSseEvent event) {
+        sink.send(event).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                close();
+                return;
+            }
+
+            OutboundSseEvent next;
+            synchronized (this) {
+                next = closed ? null : buffer.pollFirst();
+                if (next == null) {
+                    sending = false;
+                    return;
+                }
+            }
+            send(next);
+        });
+    }
+}
@@ -0,0 +1,20 @@
+-- posts.user_id was created as integer by V1, which does not match users.id. MySQL only lets a
+-- foreign key column change its type with the checks off; other databases skip the /*! */ lines.
+/*!40014 set foreign_key_checks = 0 */;
+alter table posts modify user_id bigint not null;
+/*!40014 set foreign_key_checks = 1 */;
+
+-- newest-first post listing per user: user_id = ? order by date_time desc, id desc
+create index idx_posts_user_date on posts (user_id, date_time desc, id desc);
+
+-- keep the oldest row of each duplicated follow edge before the unique index goes in; the
+-- distinct derived table is materialized, so the delete may read the table it deletes from
+delete from followers where id in (
+    select id from (
+        select distinct f.id from followers f
+            join followers older on older.user_id = f.user_id and older.follower_id = f.follower_id and older.id < f.id
+    ) duplicates
+);
+
+create unique index uk_followers_user_follower on followers (user_id, follower_id);
+create index idx_followers_follower_user on followers (follower_id, user_id);
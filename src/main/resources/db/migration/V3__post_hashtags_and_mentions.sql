@@ -0,0 +1,14 @@
+-- #hashtags and @mentions extracted from post texts when the post is written
+create table post_hashtags (
+    id bigint not null primary key,
+    post_id bigint not null,
+    tag varchar(100) not null,
+    index idx_post_hashtags_tag_post (tag, post_id desc)
+);
+
+create table post_mentions (
+    id bigint not null primary key,
+    post_id bigint not null,
+    mention varchar(100) not null,
+    index idx_post_mentions_mention_post (mention, post_id desc)
+);
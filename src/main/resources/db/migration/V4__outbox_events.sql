@@ -0,0 +1,7 @@
+-- change events of users, posts and follows, relayed to subscribers and then deleted
+create table outbox_events (
+    id bigint not null primary key,
+    event_type varchar(40) not null,
+    aggregate_id bigint not null,
+    payload varchar(2000) not null
+);
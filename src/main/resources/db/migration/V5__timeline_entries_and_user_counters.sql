@@ -0,0 +1,21 @@
+-- home feed entries written at fan-out time, newest first per owner
+create table timeline_entries (
+    id bigint auto_increment not null primary key,
+    owner_id bigint not null,
+    post_id bigint not null,
+    author_id bigint not null,
+    date_time date not null,
+    index idx_timeline_owner_date (owner_id, date_time, post_id),
+    foreign key (owner_id) references users(id),
+    foreign key (post_id) references posts(id)
+);
+
+-- follower/following counters striped over social.counters.shards rows per user
+create table user_counters (
+    id bigint auto_increment not null primary key,
+    user_id bigint not null,
+    shard integer not null,
+    followers_count bigint not null default 0,
+    following_count bigint not null default 0,
+    unique key uk_user_counters_user_shard (user_id, shard)
+);
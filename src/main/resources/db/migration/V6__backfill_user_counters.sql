@@ -0,0 +1,8 @@
+-- counters for the follow edges that existed before user_counters did, all in stripe 0
+insert into user_counters (user_id, shard, followers_count, following_count)
+select user_id, 0, sum(followers_count), sum(following_count) from (
+    select user_id, count(*) as followers_count, 0 as following_count from followers group by user_id
+    union all
+    select follower_id, 0, count(*) from followers group by follower_id
+) counts
+group by user_id;
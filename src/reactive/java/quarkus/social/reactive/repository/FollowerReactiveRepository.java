@@ -0,0 +1,60 @@
+package quarkus.social.reactive.repository;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import quarkus.social.domain.id.Snowflake;
+import quarkus.social.domain.model.Follower;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.model.UserSummary;
+
+import java.util.List;
+
+@ApplicationScoped
+public class FollowerReactiveRepository implements PanacheRepository<Follower> {
+    // a duplicate edge is a no-op; any other failure, such as a missing user, still raises an error
+    private static final String UPSERT = "insert into followers (id, user_id, follower_id) values (?1, ?2, ?3) "
+            + "on duplicate key update follower_id = follower_id";
+
+    public Uni<Boolean> follows(User follower, User user) {
+        return count("follower.id = :followerId and user.id = :userId",
+                Parameters.with("followerId", follower.getId()).and("userId", user.getId()))
+                .map(count -> count > 0);
+    }
+
+    /**
+     * Creates the edge unless it already exists; emits whether this call inserted it. As in the
+     * blocking FollowerRepository, a matched duplicate may be reported as one row, so the edge is
+     * new only when the row carries the id given here.
+     */
+    public Uni<Boolean> follow(User user, User follower) {
+        long id = Snowflake.get().nextId();
+
+        return getSession().chain(session -> session
+                .createNativeQuery(UPSERT)
+                .setParameter(1, id)
+                .setParameter(2, user.getId())
+                .setParameter(3, follower.getId())
+                .executeUpdate())
+                .chain(affected -> affected == 0 ? Uni.createFrom().item(0L) : count("id", id))
+                .map(written -> written > 0);
+    }
+
+    public Uni<List<UserSummary>> findPageByUser(Long userId, Long afterFollowerId, int size) {
+        return getSession().chain(session -> session
+                .createQuery("select new quarkus.social.domain.model.UserSummary(u.id, u.name) "
+                        + "from Follower f join f.follower u "
+                        + "where f.user.id = :userId and u.id > :afterFollowerId "
+                        + "order by u.id", UserSummary.class)
+                .setParameter("userId", userId)
+                .setParameter("afterFollowerId", afterFollowerId == null ? 0L : afterFollowerId)
+                .setMaxResults(size)
+                .getResultList());
+    }
+
+    public Uni<Long> deleteByFollowerAndUser(Long userId, Long followerId) {
+        return delete("follower.id = :followerId and user.id = :userId",
+                Parameters.with("userId", userId).and("followerId", followerId));
+    }
+}
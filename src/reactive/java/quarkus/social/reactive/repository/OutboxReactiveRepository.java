@@ -0,0 +1,66 @@
+package quarkus.social.reactive.repository;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.model.OutboxEvent;
+import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.outbox.ChangeEvent;
+import quarkus.social.rest.dto.PostResponse;
+
+/**
+ * The change events the blocking OutboxRepository writes, with the same types and payloads, added
+ * in the transaction of the change. The relay runs only in the default build, so an instance of
+ * it sharing the database publishes them.
+ */
+@ApplicationScoped
+public class OutboxReactiveRepository implements PanacheRepository<OutboxEvent> {
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    private final boolean enabled;
+
+    @Inject
+    public OutboxReactiveRepository(@ConfigProperty(name = "social.outbox.enabled", defaultValue = "true") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Uni<Void> userCreated(User user) {
+        return add(ChangeEvent.USER_CREATED, user.getId(), JSONB.toJson(user));
+    }
+
+    public Uni<Void> userUpdated(User user) {
+        return add(ChangeEvent.USER_UPDATED, user.getId(), JSONB.toJson(user));
+    }
+
+    public Uni<Void> userDeleted(Long userId) {
+        return add(ChangeEvent.USER_DELETED, userId, "{\"id\":" + userId + "}");
+    }
+
+    public Uni<Void> postCreated(Post post) {
+        PostResponse response = PostResponse.fromEntity(post);
+        return add(ChangeEvent.POST_CREATED, response.getId(), JSONB.toJson(response));
+    }
+
+    public Uni<Void> followChanged(Long userId, Long followerId, boolean following) {
+        return add(following ? ChangeEvent.FOLLOW_CREATED : ChangeEvent.FOLLOW_DELETED, userId,
+                "{\"userId\":" + userId + ",\"followerId\":" + followerId + "}");
+    }
+
+    private Uni<Void> add(String type, Long aggregateId, String payload) {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+
+        OutboxEvent event = new OutboxEvent();
+        event.setType(type);
+        event.setAggregateId(aggregateId);
+        event.setPayload(payload);
+
+        return persist(event).replaceWithVoid();
+    }
+}
@@ -0,0 +1,37 @@
+package quarkus.social.reactive.repository;
+
+import io.quarkus.hibernate.reactive.panache.PanacheQuery;
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.User;
+
+import java.sql.Date;
+import java.util.List;
+
+@ApplicationScoped
+public class PostReactiveRepository implements PanacheRepository<Post> {
+    private static final Sort NEWEST_FIRST = Sort
+            .by("dateTime", Sort.Direction.Descending)
+            .and("id", Sort.Direction.Descending);
+
+    public Uni<List<Post>> findPageByUser(User user, Date afterDate, Long afterId, int size) {
+        PanacheQuery<Post> query;
+
+        if (afterDate == null || afterId == null) {
+            query = find("user", NEWEST_FIRST, user);
+        } else {
+            Parameters params = Parameters
+                    .with("user", user)
+                    .and("date", afterDate)
+                    .and("id", afterId);
+            query = find("user = :user and (dateTime < :date or (dateTime = :date and id < :id))",
+                    NEWEST_FIRST, params);
+        }
+
+        return query.range(0, size - 1).list();
+    }
+}
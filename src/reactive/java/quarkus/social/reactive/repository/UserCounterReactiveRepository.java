@@ -0,0 +1,57 @@
+package quarkus.social.reactive.repository;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import quarkus.social.domain.model.UserCounter;
+import quarkus.social.domain.model.UserStats;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@ApplicationScoped
+public class UserCounterReactiveRepository implements PanacheRepository<UserCounter> {
+    private static final String UPSERT = "insert into user_counters (user_id, shard, followers_count, following_count) "
+            + "values (?1, ?2, ?3, ?4) "
+            + "on duplicate key update followers_count = followers_count + ?3, following_count = following_count + ?4";
+
+    private final int shards;
+
+    @Inject
+    public UserCounterReactiveRepository(@ConfigProperty(name = "social.counters.shards", defaultValue = "8") int shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Applies one follow (+1) or unfollow (-1) to both ends of the edge.
+     */
+    public Uni<Void> onFollowChanged(Long userId, Long followerId, long delta) {
+        return increment(userId, delta, 0)
+                .chain(() -> increment(followerId, 0, delta));
+    }
+
+    public Uni<Void> increment(Long userId, long followersDelta, long followingDelta) {
+        return getSession().chain(session -> session
+                .createNativeQuery(UPSERT)
+                .setParameter(1, userId)
+                .setParameter(2, ThreadLocalRandom.current().nextInt(shards))
+                .setParameter(3, followersDelta)
+                .setParameter(4, followingDelta)
+                .executeUpdate())
+                .replaceWithVoid();
+    }
+
+    public Uni<UserStats> findStats(Long userId) {
+        return getSession().chain(session -> session
+                .createQuery("select new quarkus.social.domain.model.UserStats("
+                        + "coalesce(sum(c.followersCount), 0L), coalesce(sum(c.followingCount), 0L)) "
+                        + "from UserCounter c where c.userId = :userId", UserStats.class)
+                .setParameter("userId", userId)
+                .getSingleResult());
+    }
+
+    public Uni<Long> deleteByUser(Long userId) {
+        return delete("userId", userId);
+    }
+}
@@ -0,0 +1,9 @@
+package quarkus.social.reactive.repository;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import quarkus.social.domain.model.User;
+
+@ApplicationScoped
+public class UserReactiveRepository implements PanacheRepository<User> {
+}
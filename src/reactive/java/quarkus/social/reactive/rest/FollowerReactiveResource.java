@@ -0,0 +1,101 @@
+package quarkus.social.reactive.rest;
+
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.reactive.repository.FollowerReactiveRepository;
+import quarkus.social.reactive.repository.OutboxReactiveRepository;
+import quarkus.social.reactive.repository.UserCounterReactiveRepository;
+import quarkus.social.rest.dto.FollowerRequest;
+import quarkus.social.rest.dto.FollowerResponse;
+import quarkus.social.rest.dto.FollowersPerUserResponse;
+import quarkus.social.rest.pagination.Cursor;
+
+@Path("/users/{userId}/followers")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class FollowerReactiveResource {
+    private final FollowerReactiveRepository repository;
+    private final UserReactiveResource userResource;
+    private final UserCounterReactiveRepository counterRepository;
+    private final OutboxReactiveRepository outboxRepository;
+
+    @Inject
+    public FollowerReactiveResource(FollowerReactiveRepository repository, UserReactiveResource userResource,
+                                    UserCounterReactiveRepository counterRepository,
+                                    OutboxReactiveRepository outboxRepository) {
+        this.repository = repository;
+        this.userResource = userResource;
+        this.counterRepository = counterRepository;
+        this.outboxRepository = outboxRepository;
+    }
+
+    @PUT
+    @WithTransaction
+    public Uni<Response> followUser(@PathParam("userId") Long userId, FollowerRequest request) {
+        return userResource.findUserById(userId)
+                .chain(user -> userResource.findUserById(request.getFollowerId())
+                        .chain(follower -> {
+                            if (userId.equals(request.getFollowerId())) {
+                                return Uni.createFrom().<Void>failure(
+                                        new MyException(ErrorMessages.CONFLICT.toString(), Response.Status.CONFLICT));
+                            }
+
+                            return repository.follow(user, follower)
+                                    .chain(inserted -> inserted
+                                            ? onFollowChanged(userId, follower.getId(), true)
+                                            : Uni.createFrom().voidItem());
+                        }))
+                .map(ignored -> Response.status(Response.Status.NO_CONTENT).build());
+    }
+
+    @GET
+    @WithSession
+    public Uni<Response> listFollowers(@PathParam("userId") Long userId,
+                                       @QueryParam("cursor") String cursor,
+                                       @QueryParam("limit") Integer limit) {
+        int pageSize = Cursor.limit(limit);
+        Long afterFollowerId = cursor == null ? null : Cursor.decode(cursor, 1)[0];
+        FollowersPerUserResponse response = new FollowersPerUserResponse();
+
+        return userResource.findUserById(userId)
+                .chain(() -> counterRepository.findStats(userId))
+                .invoke(stats -> response.setFollowersCount(stats.followersCount()))
+                .chain(() -> repository.findPageByUser(userId, afterFollowerId, pageSize + 1))
+                .map(followers -> {
+                    if (followers.size() > pageSize) {
+                        followers = followers.subList(0, pageSize);
+                        response.setNextCursor(Cursor.encode(followers.get(pageSize - 1).id()));
+                    }
+                    response.setContent(followers.stream().map(FollowerResponse::new).toList());
+
+                    return Response.ok(response).build();
+                });
+    }
+
+    @DELETE
+    @WithTransaction
+    public Uni<Response> unfollowUser(@PathParam("userId") Long userId, @QueryParam("followerId") Long followerId) {
+        return userResource.findUserById(userId)
+                .chain(() -> repository.deleteByFollowerAndUser(userId, followerId))
+                .chain(deleted -> deleted > 0
+                        ? onFollowChanged(userId, followerId, false)
+                        : Uni.createFrom().voidItem())
+                .map(ignored -> Response.status(Response.Status.NO_CONTENT).build());
+    }
+
+    /**
+     * What the blocking build's FollowChanged observers write in the same transaction: the
+     * counters and the outbox event.
+     */
+    private Uni<Void> onFollowChanged(Long userId, Long followerId, boolean following) {
+        return counterRepository.onFollowChanged(userId, followerId, following ? 1 : -1)
+                .chain(() -> outboxRepository.followChanged(userId, followerId, following));
+    }
+}
@@ -0,0 +1,86 @@
+package quarkus.social.reactive.rest;
+
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.model.Post;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.reactive.repository.FollowerReactiveRepository;
+import quarkus.social.reactive.repository.OutboxReactiveRepository;
+import quarkus.social.reactive.repository.PostReactiveRepository;
+import quarkus.social.rest.dto.CreatePostRequest;
+import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.dto.PostsPageResponse;
+import quarkus.social.rest.pagination.Cursor;
+
+import java.sql.Date;
+import java.util.List;
+
+@Path("/users/{userId}/posts")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class PostsReactiveResource {
+    private final UserReactiveResource userResource;
+    private final PostReactiveRepository postRepository;
+    private final FollowerReactiveRepository followerRepository;
+    private final OutboxReactiveRepository outboxRepository;
+
+    @Inject
+    public PostsReactiveResource(UserReactiveResource userResource, PostReactiveRepository postRepository,
+                                 FollowerReactiveRepository followerRepository, OutboxReactiveRepository outboxRepository) {
+        this.userResource = userResource;
+        this.postRepository = postRepository;
+        this.followerRepository = followerRepository;
+        this.outboxRepository = outboxRepository;
+    }
+
+    @POST
+    @WithTransaction
+    public Uni<Response> savePost(@PathParam("userId") Long id, CreatePostRequest request) {
+        return userResource.findUserById(id)
+                .chain(user -> {
+                    Post post = new Post();
+                    post.setText(request.getText());
+                    post.setUser(user);
+
+                    return postRepository.persist(post);
+                })
+                .call(outboxRepository::postCreated)
+                .map(post -> Response.status(Response.Status.CREATED).entity(PostResponse.fromEntity(post)).build());
+    }
+
+    @GET
+    @WithSession
+    public Uni<Response> listPost(@PathParam("userId") Long id,
+                                  @HeaderParam("followerId") Long followerId,
+                                  @QueryParam("cursor") String cursor,
+                                  @QueryParam("limit") Integer limit) {
+        if(followerId == null) {
+            return Uni.createFrom().failure(
+                    new MyException(ErrorMessages.HEADER_ERROR.toString(), Response.Status.BAD_REQUEST));
+        }
+
+        int pageSize = Cursor.limit(limit);
+        long[] keys = cursor == null ? null : Cursor.decode(cursor, 2);
+        Date afterDate = keys == null ? null : new Date(keys[0]);
+        Long afterId = keys == null ? null : keys[1];
+
+        return userResource.findUserById(id)
+                .chain(user -> userResource.findUserById(followerId)
+                        .chain(follower -> followerRepository.follows(follower, user))
+                        .chain(follows -> {
+                            if (!follows) {
+                                return Uni.createFrom().<List<Post>>failure(
+                                        new MyException(ErrorMessages.FORBIDDEN.toString(), Response.Status.FORBIDDEN));
+                            }
+
+                            return postRepository.findPageByUser(user, afterDate, afterId, pageSize + 1);
+                        }))
+                .map(page -> Response.ok(PostsPageResponse.fromPage(page, pageSize)).build());
+    }
+}
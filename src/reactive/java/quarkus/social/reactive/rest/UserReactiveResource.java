@@ -0,0 +1,111 @@
+package quarkus.social.reactive.rest;
+
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import quarkus.social.domain.model.User;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.exception.MyException;
+import quarkus.social.reactive.repository.OutboxReactiveRepository;
+import quarkus.social.reactive.repository.UserCounterReactiveRepository;
+import quarkus.social.reactive.repository.UserReactiveRepository;
+import quarkus.social.rest.dto.CreateUserRequest;
+import quarkus.social.rest.dto.ResponseError;
+import quarkus.social.rest.dto.UserStatsResponse;
+
+import java.sql.Date;
+import java.util.Set;
+
+/**
+ * Event-loop counterpart of the blocking UserResource. Failures are {@link MyException}s and
+ * are turned into responses by MyExceptionMapper.
+ */
+@Path("/users")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class UserReactiveResource {
+    private final UserReactiveRepository repository;
+    private final Validator validator;
+    private final UserCounterReactiveRepository counterRepository;
+    private final OutboxReactiveRepository outboxRepository;
+
+    @Inject
+    public UserReactiveResource(UserReactiveRepository repository, Validator validator,
+                                UserCounterReactiveRepository counterRepository, OutboxReactiveRepository outboxRepository) {
+        this.repository = repository;
+        this.validator = validator;
+        this.counterRepository = counterRepository;
+        this.outboxRepository = outboxRepository;
+    }
+
+    @POST
+    @WithTransaction
+    public Uni<Response> createUser(CreateUserRequest userRequest) {
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(userRequest);
+
+        if(!violations.isEmpty()) {
+            return Uni.createFrom().item(ResponseError.createFromValidation(violations)
+                    .withStatusCode(ResponseError.UNPROCESSABLE_ENTITY));
+        }
+
+        User user = new User();
+        user.setAge(Date.valueOf(userRequest.getAge()));
+        user.setName(userRequest.getName());
+
+        return repository.persist(user)
+                .call(outboxRepository::userCreated)
+                .map(saved -> Response.status(Response.Status.CREATED).entity(saved).build());
+    }
+
+    @GET
+    @WithSession
+    public Uni<Response> listAllUsers() {
+        return repository.listAll()
+                .map(users -> Response.ok(users).build());
+    }
+
+    @DELETE
+    @WithTransaction
+    @Path("{id}")
+    public Uni<Response> deleteUser(@PathParam("id") Long id) {
+        return findUserById(id)
+                .call(() -> counterRepository.deleteByUser(id))
+                .call(repository::delete)
+                .call(() -> outboxRepository.userDeleted(id))
+                .map(user -> Response.status(Response.Status.NO_CONTENT).build());
+    }
+
+    @PUT
+    @WithTransaction
+    @Path("{id}")
+    public Uni<Response> updateUser(@PathParam("id") Long id, CreateUserRequest userData) {
+        return findUserById(id)
+                .invoke(user -> {
+                    user.setName(userData.getName());
+                    user.setAge(Date.valueOf(userData.getAge()));
+                })
+                .call(outboxRepository::userUpdated)
+                .map(user -> Response.status(Response.Status.CREATED).entity(user).build());
+    }
+
+    @GET
+    @WithSession
+    @Path("{id}/stats")
+    public Uni<Response> userStats(@PathParam("id") Long id) {
+        return findUserById(id)
+                .chain(() -> counterRepository.findStats(id))
+                .map(stats -> Response.ok(new UserStatsResponse(stats)).build());
+    }
+
+    public Uni<User> findUserById(Long id) {
+        return repository.findById(id)
+                .onItem().ifNull().failWith(() ->
+                        new MyException(ErrorMessages.USER_NOT_FOUND.toString(), Response.Status.NOT_FOUND));
+    }
+}
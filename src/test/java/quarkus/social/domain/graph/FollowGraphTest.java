@@ -0,0 +1,114 @@
+package quarkus.social.domain.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.domain.event.FollowChanged;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FollowGraphTest {
+
+    @Test
+    @DisplayName("Should intersect a small set with a much larger one by lookups")
+    public void intersectSkewedTest() {
+        Random random = new Random(7);
+        TreeSet<Long> large = new TreeSet<>();
+        while (large.size() < 10 * SortedIdSet.MAX_BLOCK) {
+            large.add((long) random.nextInt(100_000));
+        }
+        // below, inside and above the large set's range, so every block lookup path is taken
+        TreeSet<Long> small = new TreeSet<>(List.of(-5L, 0L, large.first(), large.last(), 150_000L));
+        while (small.size() < 40) {
+            small.add((long) random.nextInt(100_000));
+        }
+        assertTrue(small.size() * 32L < large.size());
+
+        TreeSet<Long> expected = new TreeSet<>(small);
+        expected.retainAll(large);
+
+        assertArrayEquals(toArray(expected), FollowGraph.intersect(set(small), set(large)));
+        assertArrayEquals(toArray(expected), FollowGraph.intersect(set(large), set(small)));
+    }
+
+    @Test
+    @DisplayName("Should intersect sets of similar size by merging their blocks")
+    public void intersectMergeTest() {
+        Random random = new Random(11);
+        TreeSet<Long> a = new TreeSet<>();
+        TreeSet<Long> b = new TreeSet<>();
+        while (a.size() < 3 * SortedIdSet.MAX_BLOCK) {
+            a.add((long) random.nextInt(20_000));
+        }
+        while (b.size() < 2 * SortedIdSet.MAX_BLOCK) {
+            b.add((long) random.nextInt(20_000));
+        }
+
+        TreeSet<Long> expected = new TreeSet<>(a);
+        expected.retainAll(b);
+
+        assertArrayEquals(toArray(expected), FollowGraph.intersect(set(a), set(b)));
+        assertEquals(0, FollowGraph.intersect(set(a), SortedIdSet.EMPTY).length);
+    }
+
+    @Test
+    @DisplayName("Should rank suggestions from the friends scanned before the max-scan cut")
+    public void suggestionsMaxScanTest() {
+        FollowGraph graph = new FollowGraph(null, true, true);
+        long user = 1;
+        long small = 2;
+        long large = 3;
+        follow(graph, user, small);
+        follow(graph, user, large);
+        // the friend following fewer people is scanned first
+        LongStream.range(1000, 1040).forEach(id -> follow(graph, small, id));
+        LongStream.range(1000, 1100).forEach(id -> follow(graph, large, id));
+
+        // 40 edges of the small friend, then the first 60 of the large one: 60 candidates, more
+        // than the counter's initial capacity holds
+        List<Suggestion> cut = graph.suggestions(user, 100, 100);
+        assertEquals(60, cut.size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(new Suggestion(1000 + i, 2), cut.get(i));
+        }
+        for (int i = 40; i < 60; i++) {
+            assertEquals(new Suggestion(1000 + i, 1), cut.get(i));
+        }
+
+        List<Suggestion> all = graph.suggestions(user, 100, Integer.MAX_VALUE);
+        assertEquals(100, all.size());
+        assertEquals(new Suggestion(1099, 1), all.get(99));
+
+        assertEquals(List.of(new Suggestion(1000, 2), new Suggestion(1001, 2)), graph.suggestions(user, 2, 100));
+    }
+
+    @Test
+    @DisplayName("Should leave out the user and the users already followed")
+    public void suggestionsExcludeFollowedTest() {
+        FollowGraph graph = new FollowGraph(null, true, true);
+        follow(graph, 1, 2);
+        follow(graph, 1, 10);
+        follow(graph, 2, 1);
+        follow(graph, 2, 10);
+        follow(graph, 2, 11);
+
+        assertEquals(List.of(new Suggestion(11, 1)), graph.suggestions(1, 10, 100));
+    }
+
+    private static void follow(FollowGraph graph, long followerId, long userId) {
+        graph.onFollowChanged(FollowChanged.single(userId, followerId, true));
+    }
+
+    private static SortedIdSet set(TreeSet<Long> ids) {
+        long[] array = toArray(ids);
+        return SortedIdSet.of(array, array.length);
+    }
+
+    private static long[] toArray(TreeSet<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
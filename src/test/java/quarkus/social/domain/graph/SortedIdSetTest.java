@@ -0,0 +1,83 @@
+package quarkus.social.domain.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedIdSetTest {
+
+    @Test
+    @DisplayName("Should stay sorted across block splits and removals")
+    public void addAndRemoveAcrossBlocksTest() {
+        Random random = new Random(42);
+        TreeSet<Long> expected = new TreeSet<>();
+        SortedIdSet set = SortedIdSet.EMPTY;
+
+        for (int i = 0; i < 5 * SortedIdSet.MAX_BLOCK; i++) {
+            long id = random.nextInt(20_000);
+            expected.add(id);
+            set = set.with(id);
+        }
+        assertTrue(set.blocks().length > 1);
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), set.toArray());
+
+        for (int i = 0; i < 20_000; i += 2) {
+            expected.remove((long) i);
+            set = set.without(i);
+        }
+        assertEquals(expected.size(), set.size());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), set.toArray());
+        for (long id = 0; id < 20_000; id++) {
+            assertEquals(expected.contains(id), set.contains(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop emptied blocks and return null once empty")
+    public void removeEverythingTest() {
+        long[] ids = new long[3 * SortedIdSet.MAX_BLOCK];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i * 10L;
+        }
+        SortedIdSet set = SortedIdSet.of(ids, ids.length);
+        assertEquals(3, set.blocks().length);
+
+        for (int i = 0; i < ids.length - 1; i++) {
+            set = set.without(ids[i]);
+            assertFalse(set.contains(ids[i]));
+        }
+        assertEquals(1, set.blocks().length);
+        assertArrayEquals(new long[]{ids[ids.length - 1]}, set.toArray());
+        assertSame(set, set.without(5));
+        assertNull(set.without(ids[ids.length - 1]));
+    }
+
+    @Test
+    @DisplayName("Should copy one block, not the whole set, when an id is added")
+    public void addCopiesOneBlockTest() {
+        long[] ids = new long[10 * SortedIdSet.MAX_BLOCK];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i * 2L;
+        }
+        SortedIdSet set = SortedIdSet.of(ids, ids.length);
+
+        // the first block is full: it is split in two, the other blocks are shared
+        SortedIdSet split = set.with(3);
+        assertTrue(split.contains(3));
+        assertFalse(set.contains(3));
+        assertEquals(set.blocks().length + 1, split.blocks().length);
+        for (int i = 1; i < set.blocks().length; i++) {
+            assertSame(set.blocks()[i], split.blocks()[i + 1]);
+        }
+
+        SortedIdSet added = split.with(5);
+        assertNotSame(split.blocks()[0], added.blocks()[0]);
+        for (int i = 1; i < split.blocks().length; i++) {
+            assertSame(split.blocks()[i], added.blocks()[i]);
+        }
+    }
+}
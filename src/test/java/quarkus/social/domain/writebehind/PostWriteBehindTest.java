@@ -0,0 +1,130 @@
+package quarkus.social.domain.writebehind;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.Response.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.domain.event.PostCreated;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.PostRepository;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.exception.MyException;
+import quarkus.social.rest.PostsResource;
+import quarkus.social.rest.dto.CreatePostRequest;
+import quarkus.social.rest.dto.PostResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+@TestHTTPEndpoint(PostsResource.class)
+@TestProfile(PostWriteBehindTest.WriteBehindProfile.class)
+class PostWriteBehindTest {
+    public static class WriteBehindProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "social.posts.write-behind.enabled", "true",
+                    "social.posts.write-behind.journal", "target/post-journal.log");
+        }
+    }
+
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    PostRepository postRepository;
+    @Inject
+    Event<PostCreated> postCreated;
+    @Inject
+    MeterRegistry registry;
+    Long userId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        User user = new User();
+        user.setAge(Date.valueOf("2023-11-22"));
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("Should accept a post with its id and write it in the background")
+    public void writeBehindPostTest() throws InterruptedException {
+        CreatePostRequest postRequest = new CreatePostRequest();
+        postRequest.setText("Some text");
+
+        Response response = given()
+                .contentType(ContentType.JSON)
+                .body(JsonbBuilder.create().toJson(postRequest))
+                .pathParams("userId", userId)
+                .when()
+                .post()
+                .then()
+                .extract().response();
+
+        assertEquals(202, response.getStatusCode());
+        Long postId = response.jsonPath().getLong("id");
+        assertNotNull(postId);
+
+        for (int i = 0; i < 50 && postRepository.findById(postId) == null; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals("Some text", postRepository.findById(postId).getText());
+    }
+
+    @Test
+    @DisplayName("Should answer 429 once queue-capacity posts wait, and replay them after a restart")
+    public void backpressureAndReplayTest() throws Exception {
+        Path journalPath = Files.createTempFile("post-journal", ".log");
+        try {
+            // opened without its writer thread, so accepted posts stay in the journal
+            PostWriteBehind stalled = newWriteBehind(journalPath, 2);
+            stalled.open();
+            PostResponse first = stalled.accept(userId, "First");
+            PostResponse second = stalled.accept(userId, "Second");
+
+            MyException full = assertThrows(MyException.class, () -> stalled.accept(userId, "Third"));
+            assertEquals(Status.TOO_MANY_REQUESTS, full.getStatus());
+
+            stalled.onStop(null);
+            assertNull(postRepository.findById(first.getId()));
+
+            PostWriteBehind restarted = newWriteBehind(journalPath, 2);
+            restarted.onStart(null);
+            try {
+                assertEquals("First", postRepository.findById(first.getId()).getText());
+                assertEquals("Second", postRepository.findById(second.getId()).getText());
+                assertEquals(0, Files.size(journalPath));
+            } finally {
+                restarted.onStop(null);
+            }
+        } finally {
+            Files.deleteIfExists(journalPath);
+        }
+    }
+
+    private PostWriteBehind newWriteBehind(Path journalPath, int capacity) {
+        return new PostWriteBehind(postRepository, postCreated, registry, true, capacity, 500, journalPath);
+    }
+}
@@ -0,0 +1,151 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.*;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.rest.dto.BulkFollowRequest;
+import quarkus.social.rest.dto.FollowEdge;
+
+import java.net.URL;
+import java.sql.Date;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestHTTPEndpoint(BulkFollowerResource.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BulkFollowerResourceTest {
+    @TestHTTPResource("/users")
+    URL usersURL;
+    @Inject
+    UserRepository userRepository;
+    Long userId;
+    Long firstFollowerId;
+    Long secondFollowerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        userId = newUser("Fulano");
+        firstFollowerId = newUser("Cicrano");
+        secondFollowerId = newUser("Beltrano");
+    }
+
+    private Long newUser(String name) {
+        User user = new User();
+        user.setAge(Date.valueOf("2023-11-22"));
+        user.setName(name);
+        userRepository.persist(user);
+
+        return user.getId();
+    }
+
+    private String body(FollowEdge... edges) {
+        BulkFollowRequest request = new BulkFollowRequest();
+        request.setEdges(List.of(edges));
+
+        return JsonbBuilder.create().toJson(request);
+    }
+
+    @Test
+    @DisplayName("Should return status 404 when one of the users does't exist")
+    @Order(1)
+    public void bulkFollowInexistentUserTest() {
+        Response response = given()
+                .contentType(ContentType.JSON)
+                .body(body(new FollowEdge(userId, firstFollowerId), new FollowEdge(userId, 99_999L)))
+                .when()
+                .put()
+                .then()
+                .extract().response();
+
+        assertEquals(404, response.getStatusCode());
+        assertEquals(ErrorMessages.USER_NOT_FOUND.toString(), response.jsonPath().getString("message"));
+    }
+
+    @Test
+    @DisplayName("Should follow in bulk, skipping duplicates, self-follows and existing edges")
+    @Order(2)
+    public void bulkFollowTest() {
+        String body = body(
+                new FollowEdge(userId, firstFollowerId),
+                new FollowEdge(userId, secondFollowerId),
+                new FollowEdge(userId, firstFollowerId),
+                new FollowEdge(userId, userId));
+
+        Response response = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .put()
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(4, response.jsonPath().getInt("requested"));
+        assertEquals(2, response.jsonPath().getInt("applied"));
+
+        Response again = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .put()
+                .then()
+                .extract().response();
+
+        assertEquals(0, again.jsonPath().getInt("applied"));
+
+        Response stats = given()
+                .when()
+                .get(String.format("%s/%d/stats", usersURL, userId))
+                .then()
+                .extract().response();
+
+        assertEquals(2, stats.jsonPath().getLong("followersCount"));
+    }
+
+    @Test
+    @DisplayName("Should unfollow in bulk")
+    @Order(3)
+    public void bulkUnfollowTest() {
+        String body = body(new FollowEdge(userId, firstFollowerId), new FollowEdge(userId, secondFollowerId));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .put()
+                .then()
+                .statusCode(200);
+
+        Response response = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .delete()
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, response.jsonPath().getInt("applied"));
+
+        Response stats = given()
+                .when()
+                .get(String.format("%s/%d/stats", usersURL, userId))
+                .then()
+                .extract().response();
+
+        assertEquals(0, stats.jsonPath().getLong("followersCount"));
+    }
+}
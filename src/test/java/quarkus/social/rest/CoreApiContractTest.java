@@ -0,0 +1,167 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.json.bind.JsonbBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.rest.dto.CreateUserRequest;
+import quarkus.social.rest.dto.FollowerRequest;
+import quarkus.social.rest.dto.ResponseError;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.createPost;
+import static quarkus.social.rest.SocialFixture.createUser;
+import static quarkus.social.rest.SocialFixture.follow;
+
+/**
+ * The user, post and follower endpoints as both stacks serve them: part of the default test run,
+ * and the whole test run of the reactive build ({@code -Dstack=reactive}), so the two cannot drift.
+ */
+@QuarkusTest
+class CoreApiContractTest {
+    @Test
+    @DisplayName("Should create, list, update and delete a user")
+    public void userLifecycleTest() {
+        Long id = createUser("Contrato");
+
+        List<Long> ids = given().when().get("/users").then().statusCode(200)
+                .extract().jsonPath().getList("id", Long.class);
+        assertTrue(ids.contains(id));
+
+        CreateUserRequest update = new CreateUserRequest();
+        update.setName("Contrato 2");
+        update.setAge("2020-01-01");
+        given()
+                .contentType(ContentType.JSON)
+                .body(JsonbBuilder.create().toJson(update))
+                .when()
+                .put("/users/{id}", id)
+                .then()
+                .statusCode(201);
+        assertEquals("Contrato 2", given().get("/users").jsonPath()
+                .getString("find { it.id == " + id + " }.name"));
+
+        given().when().delete("/users/{id}", id).then().statusCode(204);
+
+        Response stats = given().when().get("/users/{id}/stats", id);
+        assertEquals(404, stats.statusCode());
+        assertEquals(ErrorMessages.USER_NOT_FOUND.toString(), stats.jsonPath().getString("message"));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid user with 422")
+    public void invalidUserTest() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(JsonbBuilder.create().toJson(new CreateUserRequest()))
+                .when()
+                .post("/users")
+                .then()
+                .statusCode(ResponseError.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    @DisplayName("Should count a follow once, however often it is repeated, and undo it on unfollow")
+    public void followCountersTest() {
+        Long userId = createUser("Seguido");
+        Long followerId = createUser("Seguidor");
+
+        follow(userId, followerId);
+        follow(userId, followerId);
+        assertStats(userId, 1, 0);
+        assertStats(followerId, 0, 1);
+
+        given().queryParam("followerId", followerId)
+                .when().delete("/users/{userId}/followers", userId)
+                .then().statusCode(204);
+        given().queryParam("followerId", followerId)
+                .when().delete("/users/{userId}/followers", userId)
+                .then().statusCode(204);
+        assertStats(userId, 0, 0);
+        assertStats(followerId, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should answer 409 for a self follow and 404 for an unknown follower")
+    public void followErrorsTest() {
+        Long userId = createUser("Sozinho");
+
+        Response self = putFollower(userId, userId);
+        assertEquals(409, self.statusCode());
+        assertEquals(ErrorMessages.CONFLICT.toString(), self.jsonPath().getString("message"));
+
+        assertEquals(404, putFollower(userId, -1L).statusCode());
+    }
+
+    @Test
+    @DisplayName("Should page followers by cursor with the follower count")
+    public void listFollowersTest() {
+        Long userId = createUser("Popular");
+        for (int i = 0; i < 3; i++) {
+            follow(userId, createUser("Fan " + i));
+        }
+
+        Response firstPage = given().queryParam("limit", 2)
+                .when().get("/users/{userId}/followers", userId);
+        assertEquals(200, firstPage.statusCode());
+        assertEquals(3, firstPage.jsonPath().getLong("followersCount"));
+        assertEquals(2, firstPage.jsonPath().getList("content").size());
+        String cursor = firstPage.jsonPath().getString("nextCursor");
+        assertNotNull(cursor);
+
+        Response secondPage = given().queryParam("limit", 2).queryParam("cursor", cursor)
+                .when().get("/users/{userId}/followers", userId);
+        assertEquals(1, secondPage.jsonPath().getList("content").size());
+        assertNull(secondPage.jsonPath().getString("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should list posts only to followers")
+    public void listPostsTest() {
+        Long authorId = createUser("Autor");
+        Long followerId = createUser("Leitor");
+        Long strangerId = createUser("Estranho");
+        follow(authorId, followerId);
+        Long postId = createPost(authorId, "contrato");
+
+        Response noHeader = given().when().get("/users/{userId}/posts", authorId);
+        assertEquals(400, noHeader.statusCode());
+        assertEquals(ErrorMessages.HEADER_ERROR.toString(), noHeader.jsonPath().getString("message"));
+
+        Response stranger = given().header("followerId", strangerId)
+                .when().get("/users/{userId}/posts", authorId);
+        assertEquals(403, stranger.statusCode());
+        assertEquals(ErrorMessages.FORBIDDEN.toString(), stranger.jsonPath().getString("message"));
+
+        Response page = given().header("followerId", followerId)
+                .when().get("/users/{userId}/posts", authorId);
+        assertEquals(200, page.statusCode());
+        assertEquals(postId, page.jsonPath().getLong("content[0].id"));
+        assertEquals(authorId, page.jsonPath().getLong("content[0].userId"));
+        assertEquals("contrato", page.jsonPath().getString("content[0].text"));
+    }
+
+    private static Response putFollower(Long userId, Long followerId) {
+        FollowerRequest request = new FollowerRequest();
+        request.setFollowerId(followerId);
+
+        return given()
+                .contentType(ContentType.JSON)
+                .body(JsonbBuilder.create().toJson(request))
+                .when()
+                .put("/users/{userId}/followers", userId);
+    }
+
+    private static void assertStats(Long userId, long followers, long following) {
+        Response stats = given().when().get("/users/{id}/stats", userId);
+        assertEquals(200, stats.statusCode());
+        assertEquals(followers, stats.jsonPath().getLong("followersCount"));
+        assertEquals(following, stats.jsonPath().getLong("followingCount"));
+    }
+}
@@ -0,0 +1,137 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.PostRepository;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.rest.admission.AdmissionControl;
+import quarkus.social.rest.dto.FollowEdge;
+import quarkus.social.rest.dto.PostResponse;
+
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestHTTPEndpoint(ExportResource.class)
+class ExportResourceTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    PostRepository postRepository;
+    @Inject
+    FollowerRepository followerRepository;
+    @Inject
+    AdmissionControl admissionControl;
+    Long userId;
+    Long followerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        User user = newUser("Fulano");
+        User follower = newUser("Cicrano");
+        userId = user.getId();
+        followerId = follower.getId();
+
+        Post post = new Post();
+        post.setText("Hello");
+        post.setUser(user);
+        postRepository.persist(post);
+
+        followerRepository.follow(user, follower);
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setAge(Date.valueOf("2023-11-22"));
+        user.setName(name);
+        userRepository.persist(user);
+
+        return user;
+    }
+
+    private List<String> lines(String path) {
+        Response response = given()
+                .when()
+                .get(path)
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(response.getContentType().startsWith(ExportResource.NDJSON));
+
+        return Arrays.stream(response.getBody().asString().split("\n"))
+                .filter(line -> !line.isBlank())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON user per line")
+    public void exportUsersTest() {
+        List<String> lines = lines("users");
+
+        assertTrue(lines.size() >= 2);
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"Cicrano\"")));
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON post per line")
+    public void exportPostsTest() {
+        List<PostResponse> posts = lines("posts").stream()
+                .map(line -> JsonbBuilder.create().fromJson(line, PostResponse.class))
+                .toList();
+
+        assertTrue(posts.stream().anyMatch(post -> userId.equals(post.getUserId()) && "Hello".equals(post.getText())));
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON follow edge per line")
+    public void exportFollowersTest() {
+        List<FollowEdge> edges = lines("followers").stream()
+                .map(line -> JsonbBuilder.create().fromJson(line, FollowEdge.class))
+                .toList();
+
+        assertTrue(edges.stream().anyMatch(edge -> userId.equals(edge.getUserId()) && followerId.equals(edge.getFollowerId())));
+    }
+
+    @Test
+    @DisplayName("Should give the admission permit back once the stream ends")
+    public void exportReleasesAdmissionTest() {
+        int available = admissionControl.availablePermits();
+
+        lines("users");
+
+        assertEquals(available, admissionControl.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when no admission permit frees up for the export")
+    public void exportWaitsForAdmissionTest() throws InterruptedException {
+        int taken = 0;
+        while (admissionControl.availablePermits() > 0 && admissionControl.tryAcquire()) {
+            taken++;
+        }
+        try {
+            given().when().get("users").then().statusCode(503);
+        } finally {
+            for (int i = 0; i < taken; i++) {
+                admissionControl.release();
+            }
+        }
+    }
+}
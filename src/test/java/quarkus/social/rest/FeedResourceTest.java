@@ -0,0 +1,116 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.*;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.domain.timeline.TimelineSweeper;
+import quarkus.social.exception.ErrorMessages;
+
+import java.sql.Date;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static quarkus.social.rest.SocialFixture.createPost;
+
+@QuarkusTest
+@TestHTTPEndpoint(FeedResource.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FeedResourceTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    FollowerRepository followerRepository;
+    @Inject
+    TimelineSweeper timelineSweeper;
+    Long authorId;
+    Long followerId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        // Autor das postagens
+        User author = new User();
+        author.setAge(Date.valueOf("2023-11-22"));
+        author.setName("Fulano");
+        userRepository.persist(author);
+        authorId = author.getId();
+
+        // Usuário que lê o feed
+        User follower = new User();
+        follower.setAge(Date.valueOf("2023-11-22"));
+        follower.setName("Cicrano");
+        userRepository.persist(follower);
+        followerId = follower.getId();
+
+        followerRepository.follow(author, follower);
+    }
+
+    @Test
+    @DisplayName("Should return status 404 when user id does't exist")
+    @Order(1)
+    public void inexistentUserFeedTest() {
+        Response response = given()
+                .pathParams("followerId", 99)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(404, response.getStatusCode());
+        assertEquals(ErrorMessages.USER_NOT_FOUND.toString(), response.jsonPath().getString("message"));
+    }
+
+    @Test
+    @DisplayName("Should deliver a new post to the followers feed")
+    @Order(2)
+    public void feedReceivesPostTest() {
+        createPost(authorId, "Hello feed");
+
+        Response response = given()
+                .pathParams("followerId", followerId)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        List<Object> content = response.jsonPath().getList("content");
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, content.size());
+        assertEquals("Hello feed", response.jsonPath().getString("content[0].text"));
+        assertEquals(authorId, response.jsonPath().getLong("content[0].userId"));
+    }
+
+    @Test
+    @DisplayName("Should trim the feed to max-entries in the sweep, not when it is read")
+    @Order(3)
+    public void feedTrimmedBySweepTest() {
+        for (int i = 0; i < 7; i++) {
+            createPost(authorId, "Post " + i);
+        }
+
+        // %test.social.feed.max-entries=5
+        assertEquals(7, given().pathParams("followerId", followerId).get().jsonPath().getList("content").size());
+        assertEquals(7, given().pathParams("followerId", followerId).get().jsonPath().getList("content").size());
+
+        timelineSweeper.sweep();
+
+        Response response = given()
+                .pathParams("followerId", followerId)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract().response();
+
+        assertEquals(5, response.jsonPath().getList("content").size());
+        assertEquals("Post 6", response.jsonPath().getString("content[0].text"));
+    }
+}
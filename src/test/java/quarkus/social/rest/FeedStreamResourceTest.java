@@ -0,0 +1,78 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.*;
+
+@QuarkusTest
+class FeedStreamResourceTest {
+    @TestHTTPResource("/users")
+    URL usersURL;
+
+    @Test
+    @DisplayName("Should push posts of followed authors, including ones followed after connecting")
+    public void streamFollowedPostsTest() throws Exception {
+        Long followerId = createUser("Fulano");
+        Long followedId = createUser("Cicrano");
+        Long laterFollowedId = createUser("Beltrano");
+        follow(followedId, followerId);
+
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(String.format("%s/%d/feed/stream", usersURL, followerId)))
+                        .header("Accept", "text/event-stream")
+                        .build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        Iterator<String> lines = response.body().iterator();
+        // the stream opens with a ping once the routes are in place
+        assertTrue(CompletableFuture.supplyAsync(lines::next).get(10, TimeUnit.SECONDS).startsWith(":"));
+
+        createPost(laterFollowedId, "not followed yet");
+        follow(laterFollowedId, followerId);
+        createPost(followedId, "from the followed author");
+        createPost(laterFollowedId, "from the author followed later");
+
+        List<String> data = CompletableFuture.supplyAsync(() -> {
+            List<String> received = new ArrayList<>();
+            while (received.size() < 2) {
+                String line = lines.next();
+                if (line.startsWith("data:")) {
+                    received.add(line);
+                }
+            }
+            return received;
+        }).get(10, TimeUnit.SECONDS);
+        response.body().close();
+
+        assertTrue(data.get(0).contains("from the followed author"));
+        assertTrue(data.get(1).contains("from the author followed later"));
+        assertTrue(data.get(1).contains("\"userId\":" + laterFollowedId));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when the user not exist")
+    public void streamUserNotFoundTest() {
+        given()
+                .when()
+                .get(String.format("%s/%d/feed/stream", usersURL, 99))
+                .then()
+                .statusCode(404);
+    }
+}
@@ -0,0 +1,119 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.metrics.RequestMetricsFilter;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.createPost;
+import static quarkus.social.rest.SocialFixture.createUser;
+import static quarkus.social.rest.SocialFixture.follow;
+
+/**
+ * The mutual, common-follower and suggestion endpoints and the search authors answered from the
+ * database, as on deployments with several instances where the follow graph stays off.
+ */
+@QuarkusTest
+@TestProfile(FollowGraphFallbackTest.GraphOffProfile.class)
+class FollowGraphFallbackTest {
+    public static class GraphOffProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("social.follow-graph.enabled", "false");
+        }
+    }
+
+    @Test
+    @DisplayName("Should report mutual follows from the database")
+    public void mutualFollowTest() {
+        Long userId = createUser("Fulano");
+        Long otherId = createUser("Cicrano");
+        follow(userId, otherId);
+
+        Response before = given().when().get("/users/{userId}/followers/mutual/{otherId}", userId, otherId);
+        assertEquals(200, before.getStatusCode());
+        assertFalse(before.jsonPath().getBoolean("userFollowsOther"));
+        assertTrue(before.jsonPath().getBoolean("otherFollowsUser"));
+
+        follow(otherId, userId);
+
+        Response after = given().when().get("/users/{userId}/followers/mutual/{otherId}", userId, otherId);
+        assertTrue(after.jsonPath().getBoolean("mutual"));
+    }
+
+    @Test
+    @DisplayName("Should page common followers from the database")
+    public void commonFollowersTest() {
+        Long userId = createUser("Fulano");
+        Long otherId = createUser("Beltrano");
+        Long first = createUser("Primeiro");
+        Long second = createUser("Segundo");
+        for (Long follower : new Long[]{first, second}) {
+            follow(userId, follower);
+            follow(otherId, follower);
+        }
+        follow(userId, createUser("Apenas Fulano"));
+
+        Response firstPage = given().queryParam("limit", 1)
+                .when().get("/users/{userId}/followers/common/{otherId}", userId, otherId);
+        assertEquals(200, firstPage.getStatusCode());
+        assertEquals(2, firstPage.jsonPath().getInt("followersCount"));
+        assertEquals(first, firstPage.jsonPath().getLong("content[0].id"));
+
+        Response secondPage = given().queryParam("limit", 1)
+                .queryParam("cursor", firstPage.jsonPath().getString("nextCursor"))
+                .when().get("/users/{userId}/followers/common/{otherId}", userId, otherId);
+        assertEquals(second, secondPage.jsonPath().getLong("content[0].id"));
+        assertNull(secondPage.jsonPath().getString("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should rank suggestions from the database")
+    public void suggestionsTest() {
+        Long userId = createUser("Fulano");
+        Long first = createUser("Primeiro");
+        Long second = createUser("Segundo");
+        Long suggested = createUser("Sugerido");
+        Long once = createUser("Uma vez");
+        follow(first, userId);
+        follow(second, userId);
+        follow(suggested, first);
+        follow(suggested, second);
+        follow(once, first);
+
+        Response response = given().when().get("/users/{userId}/followers/suggestions", userId);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(suggested, response.jsonPath().getLong("[0].id"));
+        assertEquals(2, response.jsonPath().getInt("[0].mutualConnections"));
+        assertEquals(once, response.jsonPath().getLong("[1].id"));
+        assertFalse(response.jsonPath().getList("id", Long.class).contains(first));
+    }
+
+    @Test
+    @DisplayName("Should search the posts of followed users with one query for the authors")
+    public void searchTest() {
+        Long authorId = createUser("Autor");
+        Long readerId = createUser("Leitor");
+        follow(authorId, readerId);
+        String word = "fallback" + System.nanoTime();
+        Long postId = createPost(authorId, "Hello " + word);
+
+        Response response = given()
+                .header("followerId", readerId)
+                .queryParam("q", word)
+                .when()
+                .get("/posts/search");
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(postId, response.jsonPath().getLong("content[0].id"));
+        assertEquals(1, Integer.parseInt(response.getHeader(RequestMetricsFilter.STATEMENTS_HEADER)));
+    }
+}
@@ -1,6 +1,7 @@
 package quarkus.social.rest;
 
 import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.common.http.TestHTTPResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
@@ -8,23 +9,28 @@ import jakarta.inject.Inject;
 import jakarta.json.bind.JsonbBuilder;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.*;
-import quarkus.social.domain.model.Follower;
 import quarkus.social.domain.model.User;
 import quarkus.social.domain.repository.FollowerRepository;
 import quarkus.social.domain.repository.UserRepository;
 import quarkus.social.exception.ErrorMessages;
+import quarkus.social.metrics.RequestMetricsFilter;
 import quarkus.social.rest.dto.FollowerRequest;
 
+import java.net.URL;
 import java.sql.Date;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.createUser;
+import static quarkus.social.rest.SocialFixture.follow;
 
 @QuarkusTest
 @TestHTTPEndpoint(FollowerResource.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class FollowerResourceTest {
+    @TestHTTPResource("/users")
+    URL usersURL;
     @Inject
     UserRepository userRepository;
     @Inject
@@ -50,10 +56,7 @@ class FollowerResourceTest {
         followerId = follower.getId();
 
         // Cria um seguidor
-        Follower followerEntity = new Follower();
-        followerEntity.setFollower(follower);
-        followerEntity.setUser(user);
-        followerRepository.persist(followerEntity);
+        followerRepository.follow(user, follower);
     }
 
     @Test
@@ -186,4 +189,172 @@ class FollowerResourceTest {
 
         assertEquals(204, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should count followers and followings in user stats")
+    @Order(8)
+    public void userStatsTest() {
+        Response userStats = given()
+                .when()
+                .get(String.format("%s/%d/stats", usersURL, userId))
+                .then()
+                .extract().response();
+
+        assertEquals(200, userStats.getStatusCode());
+        assertEquals(1, userStats.jsonPath().getLong("followersCount"));
+        assertEquals(0, userStats.jsonPath().getLong("followingCount"));
+
+        Response followerStats = given()
+                .when()
+                .get(String.format("%s/%d/stats", usersURL, followerId))
+                .then()
+                .extract().response();
+
+        assertEquals(0, followerStats.jsonPath().getLong("followersCount"));
+        assertEquals(1, followerStats.jsonPath().getLong("followingCount"));
+    }
+
+    @Test
+    @DisplayName("Should page a users followers with a cursor")
+    @Order(9)
+    public void listUsersFollowersCursorTest() {
+        Long secondFollowerId = createUser("Beltrano");
+        follow(userId, secondFollowerId);
+
+        Response firstPage = given()
+                .pathParams("userId", userId)
+                .queryParam("limit", 1)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(200, firstPage.getStatusCode());
+        assertEquals(2, firstPage.jsonPath().getInt("followersCount"));
+        assertEquals(followerId, firstPage.jsonPath().getLong("content[0].id"));
+        String nextCursor = firstPage.jsonPath().getString("nextCursor");
+        assertNotNull(nextCursor);
+
+        Response secondPage = given()
+                .pathParams("userId", userId)
+                .queryParam("limit", 1)
+                .queryParam("cursor", nextCursor)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(secondFollowerId, secondPage.jsonPath().getLong("content[0].id"));
+        assertNull(secondPage.jsonPath().getString("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should keep a single edge when the same follow is repeated")
+    @Order(10)
+    public void repeatedFollowIsIdempotentTest() {
+        for (int i = 0; i < 3; i++) {
+            follow(userId, followerId);
+        }
+
+        Response response = given()
+                .pathParams("userId", userId)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(1, response.jsonPath().getInt("followersCount"));
+        assertEquals(1, response.jsonPath().getList("content").size());
+    }
+
+    @Test
+    @DisplayName("Should list followers within the statement budget")
+    @Order(11)
+    public void listFollowersStatementBudgetTest() {
+        given().pathParams("userId", userId).when().get().then().statusCode(200);
+
+        Response response = given()
+                .pathParams("userId", userId)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        // the follower page and the follower count; the user comes from the second-level cache
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, Integer.parseInt(response.getHeader(RequestMetricsFilter.STATEMENTS_HEADER)));
+    }
+
+    @Test
+    @DisplayName("Should report a reciprocal follow as mutual")
+    @Order(12)
+    public void mutualFollowTest() {
+        Response before = given()
+                .pathParams("userId", userId)
+                .when()
+                .get("mutual/{otherId}", followerId)
+                .then()
+                .extract().response();
+
+        assertEquals(200, before.getStatusCode());
+        assertFalse(before.jsonPath().getBoolean("userFollowsOther"));
+        assertTrue(before.jsonPath().getBoolean("otherFollowsUser"));
+        assertFalse(before.jsonPath().getBoolean("mutual"));
+
+        follow(followerId, userId);
+
+        Response after = given()
+                .pathParams("userId", userId)
+                .when()
+                .get("mutual/{otherId}", followerId)
+                .then()
+                .extract().response();
+
+        assertTrue(after.jsonPath().getBoolean("mutual"));
+    }
+
+    @Test
+    @DisplayName("Should list the followers two users have in common")
+    @Order(13)
+    public void commonFollowersTest() {
+        Long otherId = createUser("Beltrano");
+        follow(otherId, followerId);
+
+        Response response = given()
+                .pathParams("userId", userId)
+                .when()
+                .get("common/{otherId}", otherId)
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, response.jsonPath().getInt("followersCount"));
+        assertEquals(followerId, response.jsonPath().getLong("content[0].id"));
+        assertNull(response.jsonPath().getString("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should suggest users followed by the people a user follows")
+    @Order(14)
+    public void suggestionsTest() {
+        Long first = createUser("Primeiro");
+        Long second = createUser("Segundo");
+        Long suggested = createUser("Sugerido");
+        follow(first, followerId);
+        follow(second, followerId);
+        follow(suggested, first);
+        follow(suggested, second);
+
+        Response response = given()
+                .pathParams("userId", followerId)
+                .when()
+                .get("suggestions")
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(suggested, response.jsonPath().getLong("[0].id"));
+        assertEquals(2, response.jsonPath().getInt("[0].mutualConnections"));
+        assertFalse(response.jsonPath().getList("id", Long.class).contains(userId));
+    }
+}
@@ -0,0 +1,41 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class MetricsTest {
+    @TestHTTPResource("/users")
+    URL usersURL;
+    @TestHTTPResource(value = "/q/metrics", management = true)
+    URL metricsURL;
+
+    @Test
+    @DisplayName("Should expose endpoint latency, statement, error and pool metrics")
+    public void prometheusMetricsTest() {
+        given().when().get(usersURL).then().statusCode(200);
+        given().when().get(usersURL + "/99999/stats").then().statusCode(404);
+
+        String metrics = given()
+                .when()
+                .get(metricsURL)
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        assertTrue(metrics.contains("social_endpoint_seconds_bucket"));
+        assertTrue(metrics.contains("method=\"listAllUsers\""));
+        assertFalse(metrics.contains("method=\"findUserById\""));
+        assertTrue(metrics.contains("social_request_statements_count"));
+        assertTrue(metrics.contains("social_errors_total{status=\"404\""));
+        assertTrue(metrics.contains("agroal_"));
+    }
+}
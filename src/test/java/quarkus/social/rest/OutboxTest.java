@@ -0,0 +1,59 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.domain.repository.OutboxRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.*;
+
+@QuarkusTest
+class OutboxTest {
+    @ConfigProperty(name = "social.outbox.file")
+    Path outboxFile;
+    @Inject
+    OutboxRepository outboxRepository;
+
+    @Test
+    @DisplayName("Should relay user, post and follow changes to the file sink")
+    public void relayChangesTest() throws Exception {
+        Long userId = createUser("Fulano");
+        Long followerId = createUser("Cicrano");
+
+        follow(userId, followerId);
+        Long postId = createPost(userId, "Hello outbox");
+
+        List<String> lines = awaitLines(
+                "\"type\":\"user.created\",\"aggregateId\":" + userId,
+                "\"type\":\"follow.created\",\"aggregateId\":" + userId,
+                "\"type\":\"post.created\",\"aggregateId\":" + postId);
+
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"followerId\":" + followerId)));
+        assertTrue(lines.stream().anyMatch(line -> line.contains("Hello outbox")));
+    }
+
+    private List<String> awaitLines(String... fragments) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            List<String> lines = Files.exists(outboxFile)
+                    ? Files.readAllLines(outboxFile, StandardCharsets.UTF_8)
+                    : List.of();
+            if (List.of(fragments).stream().allMatch(fragment -> lines.stream().anyMatch(line -> line.contains(fragment)))) {
+                return lines;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                fail("Outbox events not relayed: " + List.of(fragments) + ", pending rows: " + outboxRepository.count());
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.*;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.exception.ErrorMessages;
+import quarkus.social.metrics.RequestMetricsFilter;
+
+import java.sql.Date;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.createPost;
+
+@QuarkusTest
+@TestHTTPEndpoint(PostSearchResource.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PostSearchResourceTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    FollowerRepository followerRepository;
+    Long userId;
+    Long followerId;
+    Long strangerId;
+    // every test searches for its own word, the index is shared by the whole test run
+    String word;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        User user = newUser("Fulano");
+        User follower = newUser("Cicrano");
+        userId = user.getId();
+        followerId = follower.getId();
+        strangerId = newUser("Beltrano").getId();
+        followerRepository.follow(user, follower);
+        word = "palavra" + System.nanoTime();
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setAge(Date.valueOf("2023-11-22"));
+        user.setName(name);
+        userRepository.persist(user);
+
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should find a post as soon as it is created")
+    @Order(1)
+    public void searchCreatedPostTest() {
+        Long postId = createPost(userId, "Hello " + word + " from quarkus");
+        createPost(userId, "Hello from somewhere else");
+
+        Response response = given()
+                .header("followerId", followerId)
+                .queryParam("q", word)
+                .when()
+                .get("search")
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, response.jsonPath().getList("content").size());
+        assertEquals(postId, response.jsonPath().getLong("content[0].id"));
+        assertEquals(userId, response.jsonPath().getLong("content[0].userId"));
+        assertNull(response.jsonPath().getString("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should require every word of the query")
+    @Order(2)
+    public void searchAllWordsTest() {
+        Long postId = createPost(userId, word + " lucene index");
+        createPost(userId, word + " lucene");
+
+        Response response = given()
+                .header("followerId", followerId)
+                .queryParam("q", word + " index")
+                .when()
+                .get("search")
+                .then()
+                .extract().response();
+
+        assertEquals(1, response.jsonPath().getList("content").size());
+        assertEquals(postId, response.jsonPath().getLong("content[0].id"));
+    }
+
+    @Test
+    @DisplayName("Should page search results with a cursor")
+    @Order(3)
+    public void searchCursorTest() {
+        createPost(userId, word + " one");
+        createPost(userId, word + " two");
+        createPost(userId, word + " three");
+
+        Response firstPage = given()
+                .header("followerId", followerId)
+                .queryParam("q", word)
+                .queryParam("limit", 2)
+                .when()
+                .get("search")
+                .then()
+                .extract().response();
+
+        assertEquals(2, firstPage.jsonPath().getList("content").size());
+        String nextCursor = firstPage.jsonPath().getString("nextCursor");
+        assertNotNull(nextCursor);
+
+        Response secondPage = given()
+                .header("followerId", followerId)
+                .queryParam("q", word)
+                .queryParam("limit", 2)
+                .queryParam("cursor", nextCursor)
+                .when()
+                .get("search")
+                .then()
+                .extract().response();
+
+        assertEquals(1, secondPage.jsonPath().getList("content").size());
+        assertFalse(firstPage.jsonPath().getList("content.id", Long.class)
+                .contains(secondPage.jsonPath().getLong("content[0].id")));
+        assertNull(secondPage.jsonPath().getString("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should search without touching the database")
+    @Order(4)
+    public void searchStatementBudgetTest() {
+        createPost(userId, word);
+
+        Response response = given()
+                .header("followerId", followerId)
+                .queryParam("q", word)
+                .when()
+                .get("search")
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(0, Integer.parseInt(response.getHeader(RequestMetricsFilter.STATEMENTS_HEADER)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the query is missing")
+    @Order(5)
+    public void searchWithoutQueryTest() {
+        Response response = given()
+                .header("followerId", followerId)
+                .when()
+                .get("search")
+                .then()
+                .extract().response();
+
+        assertEquals(400, response.getStatusCode());
+        assertEquals(ErrorMessages.SEARCH_QUERY_REQUIRED.toString(), response.jsonPath().getString("message"));
+    }
+
+    @Test
+    @DisplayName("Should only find posts of the users the follower follows")
+    @Order(6)
+    public void searchOnlyFollowedAuthorsTest() {
+        createPost(userId, "Hello " + word);
+
+        Response response = given()
+                .header("followerId", strangerId)
+                .queryParam("q", word)
+                .when()
+                .get("search")
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(0, response.jsonPath().getList("content").size());
+    }
+
+    @Test
+    @DisplayName("Should return 400 without the followerId header")
+    @Order(7)
+    public void searchWithoutFollowerTest() {
+        Response response = given()
+                .queryParam("q", word)
+                .when()
+                .get("search")
+                .then()
+                .extract().response();
+
+        assertEquals(400, response.getStatusCode());
+        assertEquals(ErrorMessages.HEADER_ERROR.toString(), response.jsonPath().getString("message"));
+    }
+}
@@ -1,6 +1,8 @@
 package quarkus.social.rest;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.common.http.TestHTTPResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
@@ -8,26 +10,31 @@ import jakarta.inject.Inject;
 import jakarta.json.bind.JsonbBuilder;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.*;
-import quarkus.social.domain.model.Follower;
 import quarkus.social.domain.model.Post;
 import quarkus.social.domain.model.User;
 import quarkus.social.domain.repository.FollowerRepository;
 import quarkus.social.domain.repository.PostRepository;
 import quarkus.social.domain.repository.UserRepository;
 import quarkus.social.exception.ErrorMessages;
+import quarkus.social.metrics.RequestMetricsFilter;
 import quarkus.social.rest.dto.CreatePostRequest;
+import quarkus.social.rest.pagination.Cursor;
 
+import java.net.URL;
 import java.sql.Date;
 import java.util.List;
 import java.util.Map;
 
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.createPost;
 
 @QuarkusTest
 @TestHTTPEndpoint(PostsResource.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class PostsResourceTest {
+    @TestHTTPResource("/users")
+    URL usersURL;
     @Inject
     UserRepository userRepository;
     @Inject
@@ -68,10 +75,7 @@ class PostsResourceTest {
         userRepository.persist(userFollower);
         userFollowerId = userFollower.getId();
 
-        Follower follower = new Follower();
-        follower.setUser(user);
-        follower.setFollower(userFollower);
-        followerRepository.persist(follower);
+        followerRepository.follow(user, userFollower);
     }
 
     @Test
@@ -185,9 +189,185 @@ class PostsResourceTest {
                 .get()
                 .then()
                 .extract().response();
-        List<Map<String, String>> list = response.jsonPath().getList("");
+        List<Map<String, String>> list = response.jsonPath().getList("content");
         System.out.println(list);
         assertEquals(200, response.getStatusCode());
         assertEquals("Hello", list.get(0).get("text"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should page posts with a cursor")
+    @Order(8)
+    public void listPostsCursorTest() {
+        createPost(userId, "Newest");
+
+        Response firstPage = given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId)
+                .queryParam("limit", 1)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(200, firstPage.getStatusCode());
+        assertEquals(1, firstPage.jsonPath().getList("content").size());
+        assertEquals("Newest", firstPage.jsonPath().getString("content[0].text"));
+        String nextCursor = firstPage.jsonPath().getString("nextCursor");
+        assertNotNull(nextCursor);
+
+        Response secondPage = given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId)
+                .queryParam("limit", 1)
+                .queryParam("cursor", nextCursor)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(200, secondPage.getStatusCode());
+        assertEquals("Hello", secondPage.jsonPath().getString("content[0].text"));
+        assertNull(secondPage.jsonPath().getString("nextCursor"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a malformed cursor")
+    @Order(9)
+    public void listPostsInvalidCursorTest() {
+        Response response = given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId)
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(400, response.getStatusCode());
+        assertEquals(ErrorMessages.INVALID_CURSOR.toString(), response.jsonPath().getString("message"));
+    }
+
+    @Test
+    @DisplayName("Should return 403 once the follower unfollows")
+    @Order(10)
+    public void listPostAfterUnfollowTest() {
+        given()
+                .queryParam("followerId", userFollowerId)
+                .when()
+                .delete(String.format("%s/%d/followers", usersURL, userId))
+                .then()
+                .statusCode(204);
+
+        Response response = given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+        assertEquals(403, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should list posts within the statement budget")
+    @Order(11)
+    public void listPostsStatementBudgetTest() {
+        listPostsWithLimit(Cursor.limit(null));
+        // another page size, so this request misses the first-page cache
+        Response miss = listPostsWithLimit(7);
+        Response hit = listPostsWithLimit(7);
+
+        // listing version and page: both users come from the second-level cache, follows from the graph
+        assertEquals(200, miss.getStatusCode());
+        assertEquals(2, Integer.parseInt(miss.getHeader(RequestMetricsFilter.STATEMENTS_HEADER)));
+        // then the listing version only
+        assertEquals(200, hit.getStatusCode());
+        assertEquals(1, Integer.parseInt(hit.getHeader(RequestMetricsFilter.STATEMENTS_HEADER)));
+    }
+
+    private Response listPostsWithLimit(int limit) {
+        return given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId)
+                .queryParam("limit", limit)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+    }
+
+    @Test
+    @DisplayName("Should answer 304 until the author posts again")
+    @Order(12)
+    public void listPostConditionalGetTest() {
+        Response first = given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(200, first.getStatusCode());
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+
+        given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId, "If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(304);
+
+        createPost(userId, "Newer");
+
+        Response changed = given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId, "If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(200, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeader("ETag"));
+        assertEquals("Newer", changed.jsonPath().getString("content[0].text"));
+    }
+
+    @Test
+    @DisplayName("Should change the ETag for a post written without this instance's event")
+    @Order(13)
+    public void listPostEtagSeesDirectInsertTest() {
+        Response first = given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+
+        // as another instance or a batch job would: no PostCreated in this process
+        QuarkusTransaction.requiringNew().run(() -> {
+            Post post = new Post();
+            post.setText("Direct");
+            post.setUser(userRepository.findById(userId));
+            postRepository.persist(post);
+        });
+
+        Response changed = given()
+                .pathParams("userId", userId)
+                .headers("followerId", userFollowerId, "If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(200, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeader("ETag"));
+        assertEquals("Direct", changed.jsonPath().getString("content[0].text"));
+    }
+}
@@ -0,0 +1,161 @@
+package quarkus.social.rest;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.domain.model.Post;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.FollowerRepository;
+import quarkus.social.domain.repository.PostRepository;
+import quarkus.social.domain.repository.ReplicaReadRepository;
+import quarkus.social.domain.repository.UserCounterRepository;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.rest.admission.AdmissionControl;
+import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.replica.ReadRoutingFilter;
+
+import java.net.URL;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.createUser;
+import static quarkus.social.rest.SocialFixture.follow;
+import static quarkus.social.rest.SocialFixture.postUser;
+
+@QuarkusTest
+@TestProfile(ReadReplicaTest.ReplicaProfile.class)
+class ReadReplicaTest {
+    public static class ReplicaProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("social.datasource.replica.enabled", "true");
+        }
+    }
+
+    @TestHTTPResource("/users")
+    URL usersURL;
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+    @Inject
+    AgroalDataSource primary;
+    @Inject
+    AdmissionControl admissionControl;
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    PostRepository postRepository;
+    @Inject
+    FollowerRepository followerRepository;
+    @Inject
+    UserCounterRepository counterRepository;
+
+    @Test
+    @DisplayName("Should read from the replica unless the client wrote recently")
+    public void readYourWritesTest() throws SQLException {
+        // only in the replica: the replica answers reads
+        replicate("insert into users (id, name, age) values (424242, 'Replicado', '2023-11-22')");
+
+        Response created = postUser("Primario");
+        Long primaryUserId = created.jsonPath().getLong("id");
+        String sticky = created.getCookie(ReadRoutingFilter.STICKY_COOKIE);
+        assertNotNull(sticky);
+
+        List<Long> fromReplica = given()
+                .when()
+                .get(usersURL)
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("id", Long.class);
+        assertTrue(fromReplica.contains(424242L));
+        assertFalse(fromReplica.contains(primaryUserId));
+
+        List<Long> fromPrimary = given()
+                .cookie(ReadRoutingFilter.STICKY_COOKIE, sticky)
+                .when()
+                .get(usersURL)
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("id", Long.class);
+        assertTrue(fromPrimary.contains(primaryUserId));
+        assertFalse(fromPrimary.contains(424242L));
+    }
+
+    @Test
+    @DisplayName("Should list followers from the replica")
+    public void listFollowersFromReplicaTest() throws SQLException {
+        Long userId = createUser("Seguido");
+        replicate("insert into users (id, name, age) values (" + userId + ", 'Seguido', '2023-11-22')");
+        replicate("insert into users (id, name, age) values (535353, 'Seguidor', '2023-11-22')");
+        replicate("insert into followers (id, user_id, follower_id) values (1, " + userId + ", 535353)");
+        replicate("insert into user_counters (user_id, shard, followers_count, following_count) values (" + userId + ", 0, 1, 0)");
+
+        Response response = given()
+                .when()
+                .get(String.format("%s/%d/followers", usersURL, userId))
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, response.jsonPath().getInt("followersCount"));
+        assertEquals(535353L, response.jsonPath().getLong("content[0].id"));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Should read the same rows through the replica SQL as through the repositories")
+    public void replicaQueriesMatchRepositoriesTest() throws SQLException {
+        Long userId = createUser("Espelhado");
+        Long first = createUser("Primeiro");
+        Long second = createUser("Segundo");
+        follow(userId, first);
+        follow(userId, second);
+        // two posts on the same day, so the page order falls back to the id
+        execute(primary, "insert into posts (id, post_text, date_time, user_id) values "
+                + "(9100001, 'um', '2023-11-20', " + userId + "), "
+                + "(9100002, 'dois', '2023-11-21', " + userId + "), "
+                + "(9100003, 'tres', '2023-11-21', " + userId + ")");
+
+        // the replica queries, run against the primary's rows
+        ReplicaReadRepository sameRows = new ReplicaReadRepository(primary, admissionControl);
+        User user = userRepository.findById(userId);
+        Date day = Date.valueOf("2023-11-21");
+
+        assertEquals(userRepository.listAll().stream().map(User::getId).collect(Collectors.toSet()),
+                sameRows.findAllUsers().stream().map(User::getId).collect(Collectors.toSet()));
+        assertEquals(posts(postRepository.findPageByUser(user, null, null, 2)), sameRows.findPostPage(userId, null, null, 2));
+        assertEquals(posts(postRepository.findPageByUser(user, day, 9100003L, 5)), sameRows.findPostPage(userId, day, 9100003L, 5));
+        assertEquals(followerRepository.findPageByUser(userId, null, 5), sameRows.findFollowerPage(userId, null, 5));
+        assertEquals(followerRepository.findPageByUser(userId, first, 5), sameRows.findFollowerPage(userId, first, 5));
+        assertEquals(counterRepository.findStats(userId).followersCount(), sameRows.countFollowers(userId));
+    }
+
+    private static List<PostResponse> posts(List<Post> page) {
+        return page.stream().map(PostResponse::fromEntity).toList();
+    }
+
+    private void replicate(String sql) throws SQLException {
+        execute(replica, sql);
+    }
+
+    private static void execute(AgroalDataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.json.bind.JsonbBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.rest.dto.SeedRequest;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestHTTPEndpoint(SeedResource.class)
+class SeedResourceTest {
+    @Test
+    @DisplayName("Should seed the requested number of users with follows and posts")
+    public void seedTest() {
+        SeedRequest request = new SeedRequest();
+        request.setUsers(200);
+        request.setFollowsPerUser(5);
+        request.setPostsPerUser(2);
+
+        Response response = given()
+                .contentType(ContentType.JSON)
+                .body(JsonbBuilder.create().toJson(request))
+                .when()
+                .post()
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(200, response.jsonPath().getLong("users"));
+        assertTrue(response.jsonPath().getLong("follows") > 0);
+        assertTrue(response.jsonPath().getLong("posts") > 0);
+    }
+}
@@ -0,0 +1,70 @@
+package quarkus.social.rest;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import quarkus.social.rest.dto.CreatePostRequest;
+import quarkus.social.rest.dto.CreateUserRequest;
+import quarkus.social.rest.dto.FollowerRequest;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Creates users, follows and posts through the REST API for the resource tests.
+ */
+final class SocialFixture {
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    private SocialFixture() {
+    }
+
+    static Long createUser(String name) {
+        return postUser(name).jsonPath().getLong("id");
+    }
+
+    /**
+     * The 201 response of creating a user, for tests that need its headers or cookies.
+     */
+    static Response postUser(String name) {
+        CreateUserRequest newUser = new CreateUserRequest();
+        newUser.setName(name);
+        newUser.setAge("2023-11-22");
+
+        return given()
+                .contentType(ContentType.JSON)
+                .body(JSONB.toJson(newUser))
+                .when()
+                .post("/users")
+                .then()
+                .statusCode(201)
+                .extract().response();
+    }
+
+    static void follow(Long userId, Long followerId) {
+        FollowerRequest followerRequest = new FollowerRequest();
+        followerRequest.setFollowerId(followerId);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(JSONB.toJson(followerRequest))
+                .when()
+                .put(String.format("/users/%d/followers", userId))
+                .then()
+                .statusCode(204);
+    }
+
+    static Long createPost(Long userId, String text) {
+        CreatePostRequest postRequest = new CreatePostRequest();
+        postRequest.setText(text);
+
+        return given()
+                .contentType(ContentType.JSON)
+                .body(JSONB.toJson(postRequest))
+                .when()
+                .post(String.format("/users/%d/posts", userId))
+                .then()
+                .statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+}
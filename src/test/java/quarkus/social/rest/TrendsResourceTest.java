@@ -0,0 +1,80 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.*;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.PostTagRepository;
+import quarkus.social.domain.repository.UserRepository;
+
+import java.sql.Date;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static quarkus.social.rest.SocialFixture.createPost;
+
+@QuarkusTest
+@TestHTTPEndpoint(TrendsResource.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TrendsResourceTest {
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    PostTagRepository tagRepository;
+    Long userId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        User user = new User();
+        user.setAge(Date.valueOf("2023-11-22"));
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("Should store the hashtags and mentions of a post")
+    @Order(1)
+    public void extractTagsTest() {
+        String tag = "tag" + System.nanoTime();
+
+        createPost(userId, "Hello #" + tag.toUpperCase() + " and #" + tag + " with @Cicrano, mail me at a@b.com #123");
+
+        assertEquals(1, tagRepository.count("tag", tag));
+        assertEquals(0, tagRepository.count("tag", "123"));
+        assertEquals(1, tagRepository.getEntityManager()
+                .createQuery("select count(m) from PostMention m where m.mention = 'cicrano'", Long.class)
+                .getSingleResult());
+    }
+
+    @Test
+    @DisplayName("Should rank hashtags by their count in the window")
+    @Order(2)
+    public void listTrendsTest() {
+        String top = "top" + System.nanoTime();
+        String second = "second" + System.nanoTime();
+
+        createPost(userId, "#" + top + " #" + second);
+        createPost(userId, "#" + top + " again");
+        createPost(userId, "#" + top + " @" + top);
+
+        Response response = given()
+                .queryParam("limit", 100)
+                .when()
+                .get()
+                .then()
+                .extract().response();
+
+        assertEquals(200, response.getStatusCode());
+        List<String> hashtags = response.jsonPath().getList("hashtags.tag", String.class);
+        assertTrue(hashtags.indexOf(top) >= 0);
+        assertTrue(hashtags.indexOf(top) < hashtags.indexOf(second));
+        assertEquals(3, response.jsonPath().getLong("hashtags.find { it.tag == '" + top + "' }.count"));
+        assertEquals(1, response.jsonPath().getLong("mentions.find { it.tag == '" + top + "' }.count"));
+    }
+}
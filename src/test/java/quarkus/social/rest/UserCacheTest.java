@@ -0,0 +1,95 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.domain.model.User;
+import quarkus.social.domain.repository.UserRepository;
+import quarkus.social.metrics.RequestMetricsFilter;
+
+import java.net.URL;
+import java.sql.Date;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class UserCacheTest {
+    private static final int REQUESTS = 50;
+
+    @TestHTTPResource("/users")
+    URL usersURL;
+    @Inject
+    UserRepository userRepository;
+    @Inject
+    SessionFactory sessionFactory;
+    Long userId;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        User user = new User();
+        user.setAge(Date.valueOf("2023-11-22"));
+        user.setName("Fulano");
+        userRepository.persist(user);
+        userId = user.getId();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated user lookups from the second-level cache")
+    public void statementsPerRequestTest() {
+        long hitsBefore = userRegionHits();
+
+        sessionFactory.getCache().evictEntityData(User.class);
+        // cold: user lookup + counters
+        assertEquals(2, statements());
+
+        // warm: counters only
+        for (int i = 0; i < REQUESTS; i++) {
+            assertEquals(1, statements());
+        }
+        assertTrue(userRegionHits() - hitsBefore >= REQUESTS);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached user when it is updated")
+    public void updateInvalidatesCacheTest() {
+        given().get(String.format("%s/%d/stats", usersURL, userId)).then().statusCode(200);
+
+        given()
+                .contentType("application/json")
+                .body("{\"name\":\"Renamed\",\"age\":\"2023-11-22\"}")
+                .put(String.format("%s/%d", usersURL, userId))
+                .then()
+                .statusCode(201);
+
+        User cached = QuarkusTransaction.requiringNew().call(() -> userRepository.findById(userId));
+        assertEquals("Renamed", cached.getName());
+    }
+
+    /**
+     * Statements issued by one stats request, from its {@value RequestMetricsFilter#STATEMENTS_HEADER}
+     * header, so the background threads running meanwhile do not count.
+     */
+    private int statements() {
+        String count = given()
+                .when()
+                .get(String.format("%s/%d/stats", usersURL, userId))
+                .then()
+                .statusCode(200)
+                .extract().header(RequestMetricsFilter.STATEMENTS_HEADER);
+
+        return Integer.parseInt(count);
+    }
+
+    private long userRegionHits() {
+        return sessionFactory.getStatistics().getDomainDataRegionStatistics(User.class.getName()).getHitCount();
+    }
+}
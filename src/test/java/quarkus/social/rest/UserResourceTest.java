@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 class UserResourceTest {
     @TestHTTPResource("/users")
     URL apiURL;
+    static Long createdUserId;
 
     @Test
     @DisplayName("Should create an user successfully")
@@ -43,6 +44,7 @@ class UserResourceTest {
 
         assertEquals(201, response.statusCode());
         assertNotNull(response.jsonPath().getString("id"));
+        createdUserId = response.jsonPath().getLong("id");
     }
 
     @Test
@@ -113,12 +115,12 @@ class UserResourceTest {
         Response response = given()
                 .contentType(ContentType.JSON)
                 .body(JsonbBuilder.create().toJson(user))
-                .put(String.format("%s/1", apiURL))
+                .put(String.format("%s/%d", apiURL, createdUserId))
                 .then()
                 .extract().response();
 
         assertEquals(201, response.getStatusCode());
-        assertEquals(1, response.jsonPath().getLong("id"));
+        assertEquals(createdUserId, response.jsonPath().getLong("id"));
         assertEquals("Test", response.jsonPath().getString("name"));
     }
 
@@ -129,7 +131,7 @@ class UserResourceTest {
         given()
                 .contentType(ContentType.JSON)
                 .when()
-                .delete(String.format("%s/1", apiURL))
+                .delete(String.format("%s/%d", apiURL, createdUserId))
                 .then()
                 .statusCode(204);
     }
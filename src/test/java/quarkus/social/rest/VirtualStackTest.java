@@ -0,0 +1,120 @@
+package quarkus.social.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import quarkus.social.rest.admission.AdmissionControl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static quarkus.social.rest.SocialFixture.createUser;
+
+/**
+ * Checks that only the virtual stack ({@code -Dstack=virtual}) queues requests on the database
+ * admission permits, and that serving requests there does not pin carrier threads.
+ */
+@QuarkusTest
+@TestProfile(VirtualStackTest.ShortAdmissionProfile.class)
+class VirtualStackTest {
+    public static class ShortAdmissionProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("social.db-admission.timeout", "200ms");
+        }
+    }
+
+    @Inject
+    AdmissionControl admissionControl;
+
+    @Test
+    @EnabledIfSystemProperty(named = "stack", matches = "virtual")
+    @DisplayName("Should answer 503 when every admission permit is taken on the virtual stack")
+    public void admissionRejectsWhenPoolBusyTest() throws InterruptedException {
+        int taken = takeAllPermits();
+        try {
+            given().when().get("/users").then().statusCode(503);
+        } finally {
+            releasePermits(taken);
+        }
+
+        given().when().get("/users").then().statusCode(200);
+    }
+
+    @Test
+    @DisabledIfSystemProperty(named = "stack", matches = "virtual")
+    @DisplayName("Should not use admission permits on the classic stack")
+    public void classicStackHasNoAdmissionTest() throws InterruptedException {
+        int taken = takeAllPermits();
+        try {
+            given().when().get("/users").then().statusCode(200);
+        } finally {
+            releasePermits(taken);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "stack", matches = "virtual")
+    @DisplayName("Should not pin a carrier thread while serving concurrent requests")
+    public void noCarrierPinningTest() throws Exception {
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        ExecutorService clients = Executors.newFixedThreadPool(32);
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            List<Future<Long>> responses = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                int n = i;
+                responses.add(clients.submit(() -> createUser("Pinning " + n)));
+            }
+            for (Future<Long> response : responses) {
+                assertNotNull(response.get());
+            }
+
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> pinned = RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                    .toList();
+            assertTrue(pinned.isEmpty(), () -> "carrier pinned: " + pinned.get(0).getStackTrace());
+        } finally {
+            clients.shutdownNow();
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private int takeAllPermits() throws InterruptedException {
+        int taken = 0;
+        while (admissionControl.availablePermits() > 0 && admissionControl.tryAcquire()) {
+            taken++;
+        }
+
+        return taken;
+    }
+
+    private void releasePermits(int taken) {
+        for (int i = 0; i < taken; i++) {
+            admissionControl.release();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package quarkus.social.rest.json;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import quarkus.social.rest.dto.FollowerResponse;
+import quarkus.social.rest.dto.FollowersPerUserResponse;
+import quarkus.social.rest.dto.PostResponse;
+import quarkus.social.rest.dto.PostsPageResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class DtoJsonWriterTest {
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    private static final List<String> TEXTS = Arrays.asList(
+            null,
+            "",
+            "plain text",
+            "say \"hi\" \\ back/slash",
+            "\b\f\n\r\t\u0000\u0001\u001f\u007f",
+            "ação, 中文, € and line separator \u2028",
+            "emoji 😀 clef 𝄞",
+            "lone high \uD83D here",
+            "lone low \uDE00 here",
+            "ends high \uD83D",
+            "reversed \uDE00\uD83D pair");
+    private static final List<Long> IDS = Arrays.asList(null, 0L, 1L, -1L, 1L << 53, Long.MAX_VALUE, Long.MIN_VALUE);
+    private static final List<Date> DATES = Arrays.asList(
+            null, Date.valueOf("2023-11-22"), Date.valueOf("1999-12-31"), Date.valueOf("2024-02-29"));
+
+    @Test
+    @DisplayName("Should write posts exactly like JSON-B")
+    public void postResponseTest() {
+        for (PostResponse post : posts()) {
+            assertSameBytes(post);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write followers exactly like JSON-B")
+    public void followerResponseTest() {
+        for (FollowerResponse follower : followers()) {
+            assertSameBytes(follower);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write post pages exactly like JSON-B, including pages larger than the buffer")
+    public void postsPageResponseTest() {
+        PostsPageResponse empty = new PostsPageResponse();
+        assertSameBytes(empty);
+
+        empty.setContent(List.of());
+        assertSameBytes(empty);
+
+        PostsPageResponse page = new PostsPageResponse();
+        List<PostResponse> content = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            content.addAll(posts());
+        }
+        page.setContent(content);
+        page.setNextCursor("MTcwMDYxMTIwMDAwMDo0Mg");
+        assertSameBytes(page);
+    }
+
+    @Test
+    @DisplayName("Should write follower pages exactly like JSON-B, including pages larger than the buffer")
+    public void followersPerUserResponseTest() {
+        FollowersPerUserResponse empty = new FollowersPerUserResponse();
+        assertSameBytes(empty);
+
+        empty.setContent(List.of());
+        empty.setFollowersCount(0L);
+        assertSameBytes(empty);
+
+        FollowersPerUserResponse page = new FollowersPerUserResponse();
+        List<FollowerResponse> content = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            content.addAll(followers());
+        }
+        page.setContent(content);
+        page.setFollowersCount(Long.MAX_VALUE);
+        page.setNextCursor("NDI");
+        assertSameBytes(page);
+    }
+
+    private static List<PostResponse> posts() {
+        List<PostResponse> posts = new ArrayList<>();
+        for (int i = 0; i < TEXTS.size(); i++) {
+            posts.add(new PostResponse(IDS.get(i % IDS.size()), IDS.get((i + 1) % IDS.size()), TEXTS.get(i),
+                    DATES.get(i % DATES.size())));
+        }
+
+        return posts;
+    }
+
+    private static List<FollowerResponse> followers() {
+        List<FollowerResponse> followers = new ArrayList<>();
+        for (int i = 0; i < TEXTS.size(); i++) {
+            followers.add(new FollowerResponse(IDS.get(i % IDS.size()), TEXTS.get(i)));
+        }
+
+        return followers;
+    }
+
+    private static void assertSameBytes(Object dto) {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        JSONB.toJson(dto, expected);
+        byte[] actual = DtoJsonWriter.toBytes(dto);
+
+        assertArrayEquals(expected.toByteArray(), actual, () -> "JSON-B: " + expected.toString(StandardCharsets.UTF_8)
+                + "\nwriter: " + new String(actual, StandardCharsets.UTF_8));
+    }
+}
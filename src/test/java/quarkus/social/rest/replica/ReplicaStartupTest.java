@@ -0,0 +1,33 @@
+package quarkus.social.rest.replica;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReplicaStartupTest {
+    private static final Optional<String> PRIMARY = Optional.of("jdbc:mysql://primary:3306/social");
+    private static final Optional<String> REPLICA = Optional.of("jdbc:mysql://replica:3306/social");
+
+    @Test
+    @DisplayName("Should start without a replica url while routing is off")
+    public void disabledWithoutUrlTest() {
+        assertDoesNotThrow(() -> new ReplicaStartup(false, Optional.empty(), PRIMARY).onStart(null));
+    }
+
+    @Test
+    @DisplayName("Should refuse to route reads without a replica url")
+    public void enabledWithoutUrlTest() {
+        assertThrows(IllegalStateException.class, () -> new ReplicaStartup(true, Optional.empty(), PRIMARY).onStart(null));
+    }
+
+    @Test
+    @DisplayName("Should refuse to route reads to the primary")
+    public void enabledWithPrimaryUrlTest() {
+        assertThrows(IllegalStateException.class, () -> new ReplicaStartup(true, PRIMARY, PRIMARY).onStart(null));
+        assertDoesNotThrow(() -> new ReplicaStartup(true, REPLICA, PRIMARY).onStart(null));
+    }
+}